@@ -0,0 +1,9 @@
+package com.dimitarrradev.exercisesApi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CachingConfiguration {
+}
@@ -0,0 +1,21 @@
+package com.dimitarrradev.exercisesApi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * The clock every timestamp the application writes or compares is taken from. It is the system clock,
+ * the same one Hibernate stamps {@code created_at} and {@code updated_at} with, so the change feed's
+ * cut-off and the rows it is compared with never come from different sources.
+ */
+@Configuration
+public class ClockConfiguration {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.dimitarrradev.exercisesApi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Separate pool for the catalogue export. Its connections fetch through server-side cursors
+ * (useCursorFetch on MySQL), which applies to every statement run on them, so they are kept out of
+ * the pool everything else uses. The pool reads from the replica when one is configured.
+ * It is not a default candidate, so the primary data source is still auto-configured.
+ */
+@Configuration
+public class ExportDataSourceConfiguration {
+
+    @Bean(defaultCandidate = false)
+    @Qualifier("exportDataSource")
+    @ConfigurationProperties("exercises.export.datasource.hikari")
+    public HikariDataSource exportDataSource(
+            DataSourceProperties primaryProperties,
+            @Qualifier("replicaDataSourceProperties") ObjectProvider<DataSourceProperties> replicaProperties
+    ) {
+        HikariDataSource dataSource = replicaProperties.getIfAvailable(() -> primaryProperties)
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("export");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.dimitarrradev.exercisesApi.config;
+
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseLinks;
+import com.dimitarrradev.exercisesApi.web.ExerciseColumnarMessageConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class MessageConverterConfiguration implements WebMvcConfigurer {
+
+    private final ExerciseLinks exerciseLinks;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ExerciseColumnarMessageConverter(exerciseLinks));
+    }
+
+}
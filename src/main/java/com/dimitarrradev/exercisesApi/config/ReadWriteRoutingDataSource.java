@@ -0,0 +1,114 @@
+package com.dimitarrradev.exercisesApi.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. It has to sit
+ * behind a lazy connection proxy, because the read-only flag of a transaction is only known after
+ * the transaction manager has asked for its connection.
+ * A transaction that got a replica connection is marked, so code that must not keep replica data,
+ * like cache fills, can tell that its read could not be moved to the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    private static final Object REPLICA_TRANSACTION = new Object();
+
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard replicaLagGuard) {
+        this.replicaLagGuard = replicaLagGuard;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs a read with every connection it opens on the primary, for reads that must not see a replica
+     * that is behind. Connections are only fetched on their first statement, so this also works inside
+     * a read-only transaction that has already begun.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        try (PrimaryScope ignored = primaryScope()) {
+            return read.get();
+        }
+    }
+
+    /**
+     * Same as {@link #onPrimary(Supplier)} for code that cannot be wrapped in a supplier, until the scope is closed.
+     */
+    public static PrimaryScope primaryScope() {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+
+        return () -> {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Whether the current transaction already reads from the replica, in which case {@link #onPrimary(Supplier)}
+     * cannot move its later reads.
+     */
+    public static boolean isTransactionOnReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION);
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        Route route = PRIMARY_ONLY.get() == null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !replicaLagGuard.isWithinLagWindow() ?
+                Route.REPLICA :
+                Route.PRIMARY;
+
+        if (route == Route.REPLICA && TransactionSynchronizationManager.isSynchronizationActive() && !isTransactionOnReplica()) {
+            markReplicaTransaction();
+        }
+
+        return route;
+    }
+
+    private static void markReplicaTransaction() {
+        TransactionSynchronizationManager.bindResource(REPLICA_TRANSACTION, Route.REPLICA);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(REPLICA_TRANSACTION);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(REPLICA_TRANSACTION, Route.REPLICA);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_TRANSACTION);
+            }
+        });
+    }
+
+    public interface PrimaryScope extends AutoCloseable {
+
+        @Override
+        void close();
+
+    }
+
+}
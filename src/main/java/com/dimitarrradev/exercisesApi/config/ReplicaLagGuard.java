@@ -0,0 +1,55 @@
+package com.dimitarrradev.exercisesApi.config;
+
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseImagesChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExercisesAddedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Keeps reads on the primary for a while after each committed write, so a client that edits an
+ * exercise and reads it back does not see the replica's older copy. The window is a best effort that
+ * does not bound the replica's real lag, so nothing that is kept, like cache fills and cached
+ * responses, relies on it; those read from the primary.
+ */
+public class ReplicaLagGuard {
+
+    private final long windowNanos;
+    private volatile long lastWriteNanos;
+    private volatile boolean written;
+
+    public ReplicaLagGuard(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public boolean isWithinLagWindow() {
+        return windowNanos > 0 && written && System.nanoTime() - lastWriteNanos < windowNanos;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExerciseChanged(ExerciseChangedEvent event) {
+        markWrite();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExerciseImagesChanged(ExerciseImagesChangedEvent event) {
+        markWrite();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExercisesAdded(ExercisesAddedEvent event) {
+        markWrite();
+    }
+
+    private void markWrite() {
+        lastWriteNanos = System.nanoTime();
+        written = true;
+    }
+
+}
@@ -3,6 +3,8 @@ package com.dimitarrradev.exercisesApi.controller;
 import com.dimitarrradev.exercisesApi.error.exception.ExerciseAlreadyExistsException;
 import com.dimitarrradev.exercisesApi.error.exception.ExerciseNotFoundException;
 import com.dimitarrradev.exercisesApi.error.exception.ImageNotFoundException;
+import com.dimitarrradev.exercisesApi.error.exception.InvalidCursorException;
+import com.dimitarrradev.exercisesApi.error.exception.InvalidFieldException;
 import com.dimitarrradev.exercisesApi.error.exception.InvalidRequestBodyException;
 import com.dimitarrradev.exercisesApi.error.model.BindingExceptionModel;
 import com.dimitarrradev.exercisesApi.error.model.ExceptionModel;
@@ -54,6 +56,31 @@ public class ExerciseAPIExceptionHandler {
                 );
     }
 
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionModel> handleInvalidCursorException(Exception exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(
+                        new ExceptionModel(
+                                exception.getClass().getSimpleName(),
+                                exception.getMessage())
+                );
+    }
+
+    @ExceptionHandler(InvalidFieldException.class)
+    public ResponseEntity<ExceptionModel> handleInvalidFieldException(Exception exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(
+                        new ExceptionModel(
+                                exception.getClass().getSimpleName(),
+                                exception.getMessage())
+                );
+    }
+
     @ExceptionHandler(exception = InvalidRequestBodyException.class)
     public ResponseEntity<BindingExceptionModel> handleInvalidRequestBody(InvalidRequestBodyException exception) {
         List<String> fieldNames = exception.getBindingResult().getFieldErrors().stream().map(FieldError::getField).toList();
@@ -2,31 +2,94 @@ package com.dimitarrradev.exercisesApi.controller;
 
 import com.dimitarrradev.exercisesApi.controller.binding.ExerciseAddModel;
 import com.dimitarrradev.exercisesApi.controller.binding.ExerciseEditModel;
+import com.dimitarrradev.exercisesApi.controller.binding.ExerciseIdsModel;
 import com.dimitarrradev.exercisesApi.controller.binding.ImageUrlsAddModel;
 import com.dimitarrradev.exercisesApi.error.exception.InvalidRequestBodyException;
 import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.ExerciseCountStrategy;
+import com.dimitarrradev.exercisesApi.exercise.enums.ExerciseExportFormat;
 import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
 import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseBatchModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseChanges;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseSuggestion;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseFacets;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseGroupsModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseImportResult;
 import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
 import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlModel;
+import com.dimitarrradev.exercisesApi.exercise.service.ExerciseChangeService;
+import com.dimitarrradev.exercisesApi.exercise.service.ExerciseExportService;
+import com.dimitarrradev.exercisesApi.exercise.service.ExerciseImportService;
 import com.dimitarrradev.exercisesApi.exercise.service.ExerciseService;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseFields;
+import com.dimitarrradev.exercisesApi.exercise.stream.ExerciseEventStream;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseLinks;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/exercises")
 @RequiredArgsConstructor
 public class ExerciseController {
 
+    private static final String EMBED_IMAGES = "images";
+    private static final String COUNT_STRATEGY_HEADER = "X-Total-Count-Strategy";
+    private static final String LINKS_ALL = "all";
+    private static final String LINKS_NONE = "none";
+
     private final ExerciseService exerciseService;
+    private final ExerciseImportService exerciseImportService;
+    private final ExerciseExportService exerciseExportService;
+    private final ExerciseChangeService exerciseChangeService;
+    private final ExerciseEventStream exerciseEventStream;
+    private final ExerciseLinks exerciseLinks;
 
     @GetMapping("/{id}")
-    public ExerciseModel getExercise(@PathVariable Long id) {
-        return exerciseService.getExerciseModel(id);
+    public ExerciseModel getExercise(@PathVariable Long id, @RequestParam(defaultValue = "") Set<String> embed) {
+        ExerciseModel model = exerciseService.getExerciseModel(id);
+
+        if (embed.contains(EMBED_IMAGES)) {
+            exerciseService.embedImages(List.of(model));
+        }
+
+        return model;
+    }
+
+    @GetMapping(params = "ids")
+    public ExerciseBatchModel getExercises(@RequestParam @Size(max = ExerciseIdsModel.MAX_IDS) List<Long> ids) {
+        return exerciseService.getExercises(ids);
+    }
+
+    @PostMapping("/batch")
+    public ExerciseBatchModel batchGetExercises(
+            @RequestBody @Valid ExerciseIdsModel idsModel,
+            BindingResult bindingResult
+    ) {
+        if (bindingResult.hasErrors()) {
+            throw new InvalidRequestBodyException(bindingResult);
+        }
+
+        return exerciseService.getExercises(idsModel.ids());
     }
 
     @PostMapping("/add")
@@ -40,6 +103,12 @@ public class ExerciseController {
 
         return exerciseService.addExercise(addModel);
     }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ExerciseImportResult importExercises(InputStream body) {
+        return exerciseImportService.importExercises(body);
+    }
+
     @PatchMapping("/{id}")
     public ExerciseModel editExercise(
             @PathVariable Long id,
@@ -55,17 +124,109 @@ public class ExerciseController {
     }
 
     @GetMapping("/search")
-    public PagedModel<ExerciseModel> searchExercises(
+    public ResponseEntity<PagedModel<ExerciseModel>> searchExercises(
             @RequestParam(required = false, defaultValue = "") String name,
             @RequestParam(required = false, defaultValue = "ALL") TargetBodyPart target,
             @RequestParam(required = false, defaultValue = "ALL") Complexity complexity,
             @RequestParam(required = false, defaultValue = "ALL") MovementType movement,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "asc") String orderBy
+            @RequestParam(defaultValue = "asc") String orderBy,
+            @RequestParam(defaultValue = "") Set<String> embed,
+            @RequestParam(defaultValue = "EXACT") ExerciseCountStrategy count,
+            @RequestParam(defaultValue = "") Set<String> fields,
+            @RequestParam(defaultValue = LINKS_ALL) String links
+    ) {
+        ExerciseCountStrategy strategy = exerciseService.countStrategyFor(name, count);
+        PagedModel<ExerciseModel> models = exerciseService.searchExercises(name, target, complexity, movement, page, size, orderBy, strategy, ExerciseFields.of(fields));
+
+        if (embed.contains(EMBED_IMAGES)) {
+            exerciseService.embedImages(models.getContent());
+        }
+        suppressLinks(models, links);
+
+        return ResponseEntity.ok()
+                .header(COUNT_STRATEGY_HEADER, strategy.name())
+                .body(models);
+    }
+
+    @GetMapping("/facets")
+    public ExerciseFacets getFacets(
+            @RequestParam(required = false, defaultValue = "") String name,
+            @RequestParam(required = false, defaultValue = "ALL") TargetBodyPart target,
+            @RequestParam(required = false, defaultValue = "ALL") Complexity complexity,
+            @RequestParam(required = false, defaultValue = "ALL") MovementType movement
     ) {
+        return exerciseService.getFacets(name, target, complexity, movement);
+    }
+
+    @GetMapping("/suggest")
+    public List<ExerciseSuggestion> suggestExercises(
+            @RequestParam @NotBlank String prefix,
+            @RequestParam(defaultValue = "10") @Positive @Max(50) int limit
+    ) {
+        return exerciseService.suggestExercises(prefix.strip(), limit);
+    }
+
+    @GetMapping(value = "/search", params = "after")
+    public CollectionModel<ExerciseModel> searchExercisesAfter(
+            @RequestParam(required = false, defaultValue = "") String name,
+            @RequestParam(required = false, defaultValue = "ALL") TargetBodyPart target,
+            @RequestParam(required = false, defaultValue = "ALL") Complexity complexity,
+            @RequestParam(required = false, defaultValue = "ALL") MovementType movement,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") @Positive @Max(100) int size,
+            @RequestParam(defaultValue = "asc") String orderBy,
+            @RequestParam(defaultValue = "") Set<String> embed,
+            @RequestParam(defaultValue = "") Set<String> fields,
+            @RequestParam(defaultValue = LINKS_ALL) String links
+    ) {
+        CollectionModel<ExerciseModel> models = exerciseService.searchExercisesAfter(name, target, complexity, movement, after, size, orderBy, ExerciseFields.of(fields));
 
-        return exerciseService.searchExercises(name, target, complexity, movement, page, size, orderBy);
+        if (embed.contains(EMBED_IMAGES)) {
+            exerciseService.embedImages(models.getContent());
+        }
+        suppressLinks(models, links);
+
+        return models;
+    }
+
+    @GetMapping("/by-target")
+    public ExerciseGroupsModel getExercisesByTarget(
+            @RequestParam(defaultValue = "") Set<TargetBodyPart> targets,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int limit
+    ) {
+        return exerciseService.getExercisesForTargetBodyParts(targets, limit);
+    }
+
+    @GetMapping("/changes")
+    public ExerciseChanges getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") @Positive @Max(1000) int size
+    ) {
+        return exerciseChangeService.getChanges(since, size);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(name = "lastEventId", required = false) String resumeFrom
+    ) {
+        return exerciseEventStream.subscribe(lastEventId != null ? lastEventId : resumeFrom);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExercises(
+            @RequestParam(defaultValue = "NDJSON") ExerciseExportFormat format,
+            @RequestParam(defaultValue = "false") boolean includeDeleted
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("exercises." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(outputStream -> exerciseExportService.export(format, includeDeleted, outputStream));
     }
 
     @DeleteMapping("/{id}")
@@ -93,4 +254,11 @@ public class ExerciseController {
         return exerciseService.deleteImage(id, imageId);
     }
 
+    private void suppressLinks(CollectionModel<ExerciseModel> models, String links) {
+        if (links.equalsIgnoreCase(LINKS_NONE)) {
+            exerciseLinks.suppress();
+            models.removeLinks();
+        }
+    }
+
 }
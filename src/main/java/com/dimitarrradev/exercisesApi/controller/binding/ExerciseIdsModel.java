@@ -0,0 +1,15 @@
+package com.dimitarrradev.exercisesApi.controller.binding;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ExerciseIdsModel(
+        @NotEmpty @Size(max = ExerciseIdsModel.MAX_IDS) List<@NotNull Long> ids
+) {
+
+    public static final int MAX_IDS = 1000;
+
+}
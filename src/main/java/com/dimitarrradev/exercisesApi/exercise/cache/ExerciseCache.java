@@ -0,0 +1,227 @@
+package com.dimitarrradev.exercisesApi.exercise.cache;
+
+import com.dimitarrradev.exercisesApi.config.ReadWriteRoutingDataSource;
+import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
+import com.dimitarrradev.exercisesApi.exercise.dao.ImageUrlRepository;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseImagesChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExercisesAddedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseFacetCount;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of the exercise and image lookups used by the read endpoints.
+ * Cached values are detached copies or projections so nothing handed out here is tied to a persistence context.
+ * Search counts depend on every exercise, so any exercise change drops all of them.
+ * Entries are evicted by the change events, which are delivered after the writing transaction commits.
+ * A reader that loaded before such a commit may still be storing its result after the eviction, so every
+ * eviction bumps a generation first and a fill that sees the generation move under it drops its own entry.
+ * Inside a transaction a fill compares against the generation seen when the transaction began, because the
+ * database snapshot it reads from may be older than the fill itself.
+ * Fills read from the primary, since a lagging replica could hand back a row older than the last eviction;
+ * a value read inside a transaction that is already on the replica is returned but not stored.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExerciseCache implements TransactionExecutionListener {
+
+    public static final String EXERCISES = "exercises";
+    public static final String EXERCISE_IMAGES = "exerciseImages";
+    public static final String EXERCISE_COUNTS = "exerciseCounts";
+
+    private final ExerciseRepository exerciseRepository;
+    private final ImageUrlRepository imageUrlRepository;
+    private final CacheManager cacheManager;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Runs after the transaction begins but before its first statement, so before its snapshot is taken.
+     * The generation is a transaction resource, unbound while a {@code REQUIRES_NEW} transaction suspends it.
+     */
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        Long startedAt = generation.get();
+        TransactionSynchronizationManager.bindResource(generation, startedAt);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(generation);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(generation, startedAt);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(generation);
+            }
+        });
+    }
+
+    public Optional<Exercise> findExercise(Long id) {
+        return Optional.ofNullable(readThrough(EXERCISES, id, () -> exerciseRepository
+                .findById(id)
+                .map(ExerciseCache::detach)
+                .orElse(null)));
+    }
+
+    /**
+     * Multi-get over the same cache entries as {@link #findExercise(Long)}.
+     * Hits are served from the cache and all misses are loaded with a single {@code findAllById}.
+     */
+    public Map<Long, Exercise> findExercises(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(EXERCISES);
+        Map<Long, Exercise> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long id : ids) {
+            Exercise cached = cache == null ? null : cache.get(id, Exercise.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long loadedAt = loadedAt();
+            List<Exercise> loaded = ReadWriteRoutingDataSource.onPrimary(() -> exerciseRepository.findAllById(misses));
+            boolean storable = !ReadWriteRoutingDataSource.isTransactionOnReplica();
+            loaded.forEach(exercise -> {
+                Exercise detached = detach(exercise);
+                found.put(detached.getId(), detached);
+                if (cache != null && storable) {
+                    store(cache, detached.getId(), detached, loadedAt);
+                }
+            });
+        }
+
+        return found;
+    }
+
+    /**
+     * Empty when the exercise does not exist, which is checked by the same statement that reads the images.
+     */
+    public Optional<List<ImageUrlView>> findImages(Long exerciseId) {
+        return Optional.ofNullable(readThrough(EXERCISE_IMAGES, exerciseId, () -> {
+            List<ImageUrlView> rows = imageUrlRepository.findViewsOfExercise(exerciseId);
+
+            return rows.isEmpty() ? null : rows.stream().filter(row -> row.id() != null).toList();
+        }));
+    }
+
+    public Long countExercises(ExerciseSearchFilter filter) {
+        return readThrough(EXERCISE_COUNTS, filter, () -> exerciseRepository.countMatching(filter));
+    }
+
+    public List<ExerciseFacetCount> findFacetCounts(String name) {
+        return readThrough(EXERCISE_COUNTS, "facets:" + name, () -> exerciseRepository.countFacets(name));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EXERCISES, key = "#event.exercise().id"),
+            @CacheEvict(cacheNames = EXERCISE_COUNTS, allEntries = true)
+    })
+    public void onExerciseChanged(ExerciseChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = EXERCISE_IMAGES, key = "#event.exerciseId()")
+    public void onExerciseImagesChanged(ExerciseImagesChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = EXERCISE_COUNTS, allEntries = true)
+    public void onExercisesAdded(ExercisesAddedEvent event) {
+        generation.incrementAndGet();
+        Cache cache = cacheManager.getCache(EXERCISES);
+        if (cache != null) {
+            event.exercises().forEach(exercise -> cache.evict(exercise.getId()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T readThrough(String cacheName, Object key, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(key);
+        if (cached != null && cached.get() != null) {
+            return (T) cached.get();
+        }
+
+        long loadedAt = loadedAt();
+        T value = ReadWriteRoutingDataSource.onPrimary(loader);
+        if (cache != null && value != null && !ReadWriteRoutingDataSource.isTransactionOnReplica()) {
+            store(cache, key, value, loadedAt);
+        }
+
+        return value;
+    }
+
+    private long loadedAt() {
+        Long startedAt = (Long) TransactionSynchronizationManager.getResource(generation);
+
+        return startedAt != null ? startedAt : generation.get();
+    }
+
+    /**
+     * The eviction runs after the generation bump, so re-checking after the put covers both orders:
+     * an eviction before the put is seen here, one after it removes the entry itself.
+     */
+    private void store(Cache cache, Object key, Object value, long loadedAt) {
+        cache.put(key, value);
+        if (generation.get() != loadedAt) {
+            cache.evict(key);
+        }
+    }
+
+    private static Exercise detach(Exercise exercise) {
+        return Exercise.builder()
+                .id(exercise.getId())
+                .name(exercise.getName())
+                .description(exercise.getDescription())
+                .complexity(exercise.getComplexity())
+                .targetBodyPart(exercise.getTargetBodyPart())
+                .movementType(exercise.getMovementType())
+                .createdAt(exercise.getCreatedAt())
+                .updatedAt(exercise.getUpdatedAt())
+                .isDeleted(exercise.getIsDeleted())
+                .build();
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.dimitarrradev.exercisesApi.exercise.cache;
+
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseImagesChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExercisesAddedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters bumped after every committed change, used to tag rendered responses.
+ * The catalogue version changes on any write, an exercise version only when that exercise or its
+ * images change. Both are prefixed with the startup time so tags never repeat across restarts.
+ * The bump runs after every other commit listener, so once a new version is visible the caches have
+ * already been evicted and the search index marked dirty.
+ */
+@Component
+public class ExerciseVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong catalogueVersion = new AtomicLong();
+    private final Map<Long, Long> exerciseVersions = new ConcurrentHashMap<>();
+
+    public String catalogueVersion() {
+        return epoch + "-" + catalogueVersion.get();
+    }
+
+    public String exerciseVersion(Long id) {
+        return epoch + "-" + id + "-" + exerciseVersions.getOrDefault(id, 0L);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExerciseChanged(ExerciseChangedEvent event) {
+        bump(event.exercise().getId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExerciseImagesChanged(ExerciseImagesChangedEvent event) {
+        bump(event.exerciseId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExercisesAdded(ExercisesAddedEvent event) {
+        event.exercises().forEach(exercise -> exerciseVersions.merge(exercise.getId(), 1L, Long::sum));
+        catalogueVersion.incrementAndGet();
+    }
+
+    private void bump(Long id) {
+        exerciseVersions.merge(id, 1L, Long::sum);
+        catalogueVersion.incrementAndGet();
+    }
+
+}
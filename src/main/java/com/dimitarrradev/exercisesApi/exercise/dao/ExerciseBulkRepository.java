@@ -0,0 +1,11 @@
+package com.dimitarrradev.exercisesApi.exercise.dao;
+
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+
+import java.util.List;
+
+public interface ExerciseBulkRepository {
+
+    void insertAll(List<Exercise> exercises);
+
+}
@@ -0,0 +1,76 @@
+package com.dimitarrradev.exercisesApi.exercise.dao;
+
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts exercises as one JDBC batch. The IDENTITY ids keep Hibernate from batching, so the rows
+ * bypass the persistence context and the generated keys are copied back onto the given entities.
+ */
+@RequiredArgsConstructor
+class ExerciseBulkRepositoryImpl implements ExerciseBulkRepository {
+
+    private static final String INSERT = "INSERT INTO exercises " +
+            "(name, description, complexity, target_body_part, movement_type, created_at, updated_at, is_deleted, name_key) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    @Override
+    public void insertAll(List<Exercise> exercises) {
+        if (exercises.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Exercise exercise = exercises.get(i);
+                        statement.setString(1, exercise.getName());
+                        statement.setString(2, exercise.getDescription());
+                        statement.setString(3, exercise.getComplexity().name());
+                        statement.setString(4, exercise.getTargetBodyPart().name());
+                        statement.setString(5, exercise.getMovementType().name());
+                        statement.setTimestamp(6, Timestamp.valueOf(now));
+                        statement.setTimestamp(7, Timestamp.valueOf(now));
+                        statement.setBoolean(8, exercise.getIsDeleted());
+                        statement.setBytes(9, Exercise.nameKey(exercise.getName()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return exercises.size();
+                    }
+                },
+                keyHolder
+        );
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < exercises.size(); i++) {
+            Exercise exercise = exercises.get(i);
+            exercise.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            exercise.setCreatedAt(now);
+            exercise.setUpdatedAt(now);
+            exercise.setNameKey(Exercise.nameKey(exercise.getName()));
+        }
+    }
+
+}
@@ -1,39 +1,49 @@
 package com.dimitarrradev.exercisesApi.exercise.dao;
 
-import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
-import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
 import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
 import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
-public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
+public interface ExerciseRepository extends JpaRepository<Exercise, Long>, ExerciseSearchRepository, ExerciseBulkRepository {
     boolean existsExerciseByNameAndIsDeletedFalse(String name);
 
-    List<Exercise> findAllByTargetBodyPartIsInAndIsDeletedFalse(Collection<TargetBodyPart> targetBodyParts);
+    List<Exercise> findAllByTargetBodyPartIsInAndIsDeletedFalse(Collection<TargetBodyPart> targetBodyParts, Sort sort);
 
-    Page<Exercise> findAllByTargetBodyPartAndMovementTypeAndIsDeletedFalse(Pageable pageable, TargetBodyPart target, MovementType movement);
+    List<Exercise> findAllByIsDeletedFalse();
 
-    Page<Exercise> findAllByTargetBodyPartAndComplexityAndIsDeletedFalse(Pageable pageable, TargetBodyPart target, Complexity complexity);
+    @Query("SELECT LOWER(e.name) FROM Exercise e WHERE e.isDeleted = false AND e.nameKey IN :nameKeys")
+    Set<String> findExistingLowerCaseNames(Collection<byte[]> nameKeys);
 
-    Page<Exercise> findAllByComplexityAndMovementTypeAndIsDeletedFalse(Pageable pageable, Complexity complexity, MovementType movement);
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Exercise e SET e.isDeleted = true, e.updatedAt = :now WHERE e.id IN :ids AND e.isDeleted = false")
+    int softDeleteAllById(Collection<Long> ids, LocalDateTime now);
 
-    Page<Exercise> findAllByTargetBodyPartAndComplexityAndMovementTypeAndIsDeletedFalse(Pageable pageable, TargetBodyPart target, Complexity complexity, MovementType movement);
+    @Modifying
+    @Query("UPDATE Exercise e SET e.updatedAt = :now WHERE e.id IN :ids")
+    int touchAll(Collection<Long> ids, LocalDateTime now);
 
-    Page<Exercise> findAllByTargetBodyPartAndIsDeletedFalse(Pageable pageable, TargetBodyPart target);
+    @Modifying
+    @Query("UPDATE Exercise e SET e.updatedAt = COALESCE(e.createdAt, :now) WHERE e.updatedAt IS NULL")
+    int backfillUpdatedAt(LocalDateTime now);
 
-    Page<Exercise> findAllByComplexityAndIsDeletedFalse(Pageable pageable, Complexity complexity);
+    List<Exercise> findAllByNameKeyIsNull();
 
-    Page<Exercise> findAllByMovementTypeAndIsDeletedFalse(Pageable pageable, MovementType movement);
+    @Modifying
+    @Query("UPDATE Exercise e SET e.nameKey = :nameKey WHERE e.id = :id")
+    void setNameKey(Long id, byte[] nameKey);
 
-    Page<Exercise> findAllByIsDeletedFalse(Pageable pageable);
-
-    Page<Exercise> findAllByNameContainingIgnoreCaseAndIsDeletedFalse(Pageable pageable, String name);
+    @Query("SELECT e FROM Exercise e WHERE (e.updatedAt > :at OR (e.updatedAt = :at AND e.id > :id)) " +
+            "AND e.updatedAt <= :until ORDER BY e.updatedAt, e.id")
+    List<Exercise> findChangedAfter(LocalDateTime at, Long id, LocalDateTime until, Limit limit);
 }
-
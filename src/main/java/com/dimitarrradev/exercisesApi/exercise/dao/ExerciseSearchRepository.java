@@ -0,0 +1,33 @@
+package com.dimitarrradev.exercisesApi.exercise.dao;
+
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseFacetCount;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseSuggestion;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseCursor;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseFields;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+public interface ExerciseSearchRepository {
+
+    Page<Exercise> search(ExerciseSearchFilter filter, Pageable pageable);
+
+    Page<Exercise> search(ExerciseSearchFilter filter, Pageable pageable, LongSupplier total);
+
+    Page<Exercise> search(ExerciseSearchFilter filter, Pageable pageable, LongSupplier total, ExerciseFields fields);
+
+    long countMatching(ExerciseSearchFilter filter);
+
+    List<ExerciseFacetCount> countFacets(String name);
+
+    List<ExerciseSuggestion> suggest(String prefix, int limit);
+
+    Slice<Exercise> searchAfter(ExerciseSearchFilter filter, ExerciseCursor after, int size, Sort.Direction direction, ExerciseFields fields);
+
+}
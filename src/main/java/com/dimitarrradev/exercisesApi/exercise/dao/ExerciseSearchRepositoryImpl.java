@@ -0,0 +1,257 @@
+package com.dimitarrradev.exercisesApi.exercise.dao;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseFacetCount;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseSuggestion;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseCursor;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseFields;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Builds one JPQL statement per filter shape instead of one derived query per filter combination.
+ * The statement text only depends on which filters are present, so Hibernate's query plan cache
+ * (keyed by the query string) and the driver's prepared statement cache get a hit for every request
+ * with the same shape, whatever the filter values are. When the caller does not need the description
+ * the statement selects the other columns only, so the {@code TEXT} column is never read.
+ */
+class ExerciseSearchRepositoryImpl implements ExerciseSearchRepository {
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("name", "id");
+    private static final String SUMMARY_COLUMNS = "e.id, e.name, e.complexity, e.targetBodyPart, e.movementType, e.isDeleted";
+
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Exercise> search(ExerciseSearchFilter filter, Pageable pageable) {
+        return search(filter, pageable, () -> countMatching(filter));
+    }
+
+    @Override
+    public Page<Exercise> search(ExerciseSearchFilter filter, Pageable pageable, LongSupplier total) {
+        return search(filter, pageable, total, ExerciseFields.ALL);
+    }
+
+    @Override
+    public Page<Exercise> search(ExerciseSearchFilter filter, Pageable pageable, LongSupplier total, ExerciseFields fields) {
+        boolean summary = !fields.includes(ExerciseFields.DESCRIPTION);
+        TypedQuery<?> query = entityManager
+                .createQuery(selectStatement(filter, pageable.getSort(), summary), resultType(summary))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+
+        List<Exercise> content = exercises(bind(query, filter).getResultList());
+
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    @Override
+    public Slice<Exercise> searchAfter(ExerciseSearchFilter filter, ExerciseCursor after, int size, Sort.Direction direction, ExerciseFields fields) {
+        boolean summary = !fields.includes(ExerciseFields.DESCRIPTION);
+        TypedQuery<?> query = entityManager
+                .createQuery(seekStatement(filter, after != null, direction, summary), resultType(summary))
+                .setMaxResults(size + 1);
+
+        if (after != null) {
+            query.setParameter("afterName", Exercise.nameKey(after.name()));
+            query.setParameter("afterId", after.id());
+        }
+
+        List<Exercise> content = exercises(bind(query, filter).getResultList());
+        boolean hasNext = content.size() > size;
+
+        return new SliceImpl<>(
+                hasNext ? content.subList(0, size) : content,
+                PageRequest.of(0, size, Sort.by(direction, "name", "id")),
+                hasNext
+        );
+    }
+
+    @Override
+    public long countMatching(ExerciseSearchFilter filter) {
+        return bind(entityManager.createQuery(countStatement(filter), Long.class), filter)
+                .getSingleResult();
+    }
+
+    @Override
+    public List<ExerciseFacetCount> countFacets(String name) {
+        ExerciseSearchFilter filter = new ExerciseSearchFilter(name, TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL);
+
+        return bind(entityManager.createQuery(facetStatement(filter), ExerciseFacetCount.class), filter)
+                .getResultList();
+    }
+
+    @Override
+    public List<ExerciseSuggestion> suggest(String prefix, int limit) {
+        return entityManager
+                .createQuery("SELECT new " + ExerciseSuggestion.class.getName() + "(e.id, e.name) FROM Exercise e"
+                        + " WHERE e.isDeleted = false AND LOWER(e.name) LIKE :prefix ESCAPE '!'"
+                        + " ORDER BY e.nameKey, e.id", ExerciseSuggestion.class)
+                .setParameter("prefix", escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%")
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private String selectStatement(ExerciseSearchFilter filter, Sort sort, boolean summary) {
+        return statements.computeIfAbsent(
+                "select:" + shape(filter) + ":" + sort + ":" + summary,
+                key -> select(summary) + where(filter) + orderBy(sort)
+        );
+    }
+
+    private String seekStatement(ExerciseSearchFilter filter, boolean seek, Sort.Direction direction, boolean summary) {
+        return statements.computeIfAbsent(
+                "seek:" + shape(filter) + ":" + seek + ":" + direction + ":" + summary,
+                key -> {
+                    String comparison = direction.isAscending() ? ">" : "<";
+                    String where = where(filter);
+
+                    if (seek) {
+                        where += " AND (e.nameKey " + comparison + " :afterName"
+                                + " OR (e.nameKey = :afterName AND e.id " + comparison + " :afterId))";
+                    }
+
+                    return select(summary) + where + orderBy(Sort.by(direction, "name", "id"));
+                }
+        );
+    }
+
+    private String countStatement(ExerciseSearchFilter filter) {
+        return statements.computeIfAbsent(
+                "count:" + shape(filter),
+                key -> "SELECT COUNT(e) FROM Exercise e" + where(filter)
+        );
+    }
+
+    private String facetStatement(ExerciseSearchFilter filter) {
+        return statements.computeIfAbsent(
+                "facets:" + shape(filter),
+                key -> "SELECT new " + ExerciseFacetCount.class.getName()
+                        + "(e.targetBodyPart, e.complexity, e.movementType, COUNT(e)) FROM Exercise e" + where(filter)
+                        + " GROUP BY e.targetBodyPart, e.complexity, e.movementType"
+        );
+    }
+
+    private static String select(boolean summary) {
+        return summary ? "SELECT " + SUMMARY_COLUMNS + " FROM Exercise e" : "SELECT e FROM Exercise e";
+    }
+
+    private static Class<?> resultType(boolean summary) {
+        return summary ? Object[].class : Exercise.class;
+    }
+
+    private static List<Exercise> exercises(List<?> rows) {
+        return rows.stream()
+                .map(row -> row instanceof Object[] columns ? summary(columns) : (Exercise) row)
+                .toList();
+    }
+
+    private static Exercise summary(Object[] columns) {
+        return Exercise.builder()
+                .id((Long) columns[0])
+                .name((String) columns[1])
+                .complexity((Complexity) columns[2])
+                .targetBodyPart((TargetBodyPart) columns[3])
+                .movementType((MovementType) columns[4])
+                .isDeleted((Boolean) columns[5])
+                .build();
+    }
+
+    private static String shape(ExerciseSearchFilter filter) {
+        return (filter.hasName() ? "N" : "-")
+                + (filter.hasTarget() ? "T" : "-")
+                + (filter.hasComplexity() ? "C" : "-")
+                + (filter.hasMovement() ? "M" : "-");
+    }
+
+    private static String where(ExerciseSearchFilter filter) {
+        StringBuilder where = new StringBuilder(" WHERE e.isDeleted = false");
+
+        if (filter.hasTarget()) {
+            where.append(" AND e.targetBodyPart = :target");
+        }
+        if (filter.hasComplexity()) {
+            where.append(" AND e.complexity = :complexity");
+        }
+        if (filter.hasMovement()) {
+            where.append(" AND e.movementType = :movement");
+        }
+        if (filter.hasName()) {
+            where.append(" AND LOWER(e.name) LIKE :name ESCAPE '!'");
+        }
+
+        return where.toString();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort exercises by " + order.getProperty());
+            }
+        }
+
+        // Names sort by their key with the id breaking ties, the same order the search index keeps,
+        // and the (is_deleted, name_key, id) index serves it without a filesort.
+        Sort.Order byName = sort.getOrderFor("name");
+        if (byName != null && sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by(byName.getDirection(), "id"));
+        }
+
+        return sort.stream()
+                .map(order -> (order.getProperty().equals("name") ? "e.nameKey" : "e." + order.getProperty())
+                        + (order.isAscending() ? " ASC" : " DESC"))
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, ExerciseSearchFilter filter) {
+        if (filter.hasTarget()) {
+            query.setParameter("target", filter.target());
+        }
+        if (filter.hasComplexity()) {
+            query.setParameter("complexity", filter.complexity());
+        }
+        if (filter.hasMovement()) {
+            query.setParameter("movement", filter.movement());
+        }
+        if (filter.hasName()) {
+            query.setParameter("name", "%" + escapeLike(filter.name().toLowerCase(Locale.ROOT)) + "%");
+        }
+
+        return query;
+    }
+
+    private static String escapeLike(String value) {
+        return value
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
+
+}
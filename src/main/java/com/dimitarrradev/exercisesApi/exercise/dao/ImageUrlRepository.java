@@ -1,16 +1,38 @@
 package com.dimitarrradev.exercisesApi.exercise.dao;
 
 import com.dimitarrradev.exercisesApi.exercise.model.ImageUrl;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ImageUrlRepository extends JpaRepository<ImageUrl, Long> {
-    List<ImageUrl> findByExercise_Id(Long exerciseId);
+    /**
+     * One row per live image of the exercise, a single row without an image when it has none,
+     * and no rows when the exercise does not exist.
+     */
+    @Query("SELECT new com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView(i.id, i.url, e.id, i.isDeleted) " +
+            "FROM Exercise e LEFT JOIN e.imageURLs i ON i.isDeleted = false WHERE e.id = :exerciseId ORDER BY i.id")
+    List<ImageUrlView> findViewsOfExercise(Long exerciseId);
+
+    @Query("SELECT new com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView(i.id, i.url, i.exercise.id, i.isDeleted) " +
+            "FROM ImageUrl i WHERE i.exercise.id IN :exerciseIds AND i.isDeleted = false ORDER BY i.id")
+    List<ImageUrlView> findViewsByExerciseIdIn(Collection<Long> exerciseIds);
+
+    @Query("SELECT new com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView(i.id, i.url, i.exercise.id, i.isDeleted) " +
+            "FROM ImageUrl i WHERE i.id = :imageId AND i.exercise.id = :exerciseId")
+    Optional<ImageUrlView> findViewByIdAndExerciseId(Long imageId, Long exerciseId);
 
     Optional<ImageUrl> findByIdAndExercise_id(Long imageId, Long id);
 
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImageUrl i SET i.isDeleted = true WHERE i.id IN :ids")
+    int softDeleteAllById(Collection<Long> ids);
+
 }
@@ -0,0 +1,7 @@
+package com.dimitarrradev.exercisesApi.exercise.enums;
+
+public enum ExerciseCountStrategy {
+    EXACT,
+    CACHED,
+    ESTIMATED
+}
@@ -0,0 +1,7 @@
+package com.dimitarrradev.exercisesApi.exercise.enums;
+
+public enum ExerciseImportStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,9 @@
+package com.dimitarrradev.exercisesApi.exercise.event;
+
+public enum ExerciseChangeType {
+    ADDED,
+    EDITED,
+    DELETED,
+    IMAGES_ADDED,
+    IMAGE_DELETED
+}
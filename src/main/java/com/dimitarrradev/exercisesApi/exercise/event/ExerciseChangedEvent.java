@@ -0,0 +1,9 @@
+package com.dimitarrradev.exercisesApi.exercise.event;
+
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+
+public record ExerciseChangedEvent(
+        ExerciseChangeType type,
+        Exercise exercise
+) {
+}
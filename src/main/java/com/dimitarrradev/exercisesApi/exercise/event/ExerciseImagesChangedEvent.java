@@ -0,0 +1,10 @@
+package com.dimitarrradev.exercisesApi.exercise.event;
+
+import java.util.List;
+
+public record ExerciseImagesChangedEvent(
+        ExerciseChangeType type,
+        Long exerciseId,
+        List<Long> imageIds
+) {
+}
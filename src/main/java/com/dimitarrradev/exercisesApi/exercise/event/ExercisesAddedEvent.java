@@ -0,0 +1,10 @@
+package com.dimitarrradev.exercisesApi.exercise.event;
+
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+
+import java.util.List;
+
+public record ExercisesAddedEvent(
+        List<Exercise> exercises
+) {
+}
@@ -7,15 +7,35 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "exercises")
+@Table(
+        name = "exercises",
+        indexes = {
+                @Index(
+                        name = "idx_exercises_search",
+                        columnList = "is_deleted, target_body_part, complexity, movement_type, name"
+                ),
+                @Index(
+                        name = "idx_exercises_changes",
+                        columnList = "updated_at, id"
+                ),
+                @Index(
+                        name = "idx_exercises_name_key",
+                        columnList = "is_deleted, name_key, id"
+                )
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +58,8 @@ public class Exercise {
     @Enumerated(EnumType.STRING)
     private MovementType movementType;
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "exercise", fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<ImageUrl> imageURLs;
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -45,6 +67,23 @@ public class Exercise {
     private LocalDateTime updatedAt;
     @Column(nullable = false)
     private Boolean isDeleted;
+    @Column(name = "name_key", length = 1024)
+    @ToString.Exclude
+    private byte[] nameKey;
+
+    /**
+     * The lowercase name as UTF-8. Compared as unsigned bytes it orders the same way in the database,
+     * whatever the column collation, as in the search index, and a name prefix is a key prefix.
+     */
+    public static byte[] nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = nameKey(name);
+    }
 
 }
 
@@ -0,0 +1,20 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.hateoas.CollectionModel;
+
+import java.util.List;
+
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class ExerciseBatchModel extends CollectionModel<ExerciseModel> {
+
+    private final List<Long> missing;
+
+    public ExerciseBatchModel(Iterable<ExerciseModel> content, List<Long> missing) {
+        super(content, List.of(), null);
+        this.missing = missing;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExerciseChange(
+        Long id,
+        LocalDateTime updatedAt,
+        boolean deleted,
+        String name,
+        String description,
+        Complexity complexity,
+        TargetBodyPart targetBodyPart,
+        MovementType movementType,
+        List<ImageUrlView> images
+) {
+
+    public static ExerciseChange of(Exercise exercise, List<ImageUrlView> images) {
+        if (Boolean.TRUE.equals(exercise.getIsDeleted())) {
+            return new ExerciseChange(exercise.getId(), exercise.getUpdatedAt(), true, null, null, null, null, null, null);
+        }
+
+        return new ExerciseChange(
+                exercise.getId(),
+                exercise.getUpdatedAt(),
+                false,
+                exercise.getName(),
+                exercise.getDescription(),
+                exercise.getComplexity(),
+                exercise.getTargetBodyPart(),
+                exercise.getMovementType(),
+                images
+        );
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import java.util.List;
+
+public record ExerciseChanges(
+        List<ExerciseChange> changes,
+        String next,
+        boolean hasMore
+) {
+}
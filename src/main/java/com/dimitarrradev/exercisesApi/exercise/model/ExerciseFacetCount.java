@@ -0,0 +1,21 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
+
+public record ExerciseFacetCount(
+        TargetBodyPart target,
+        Complexity complexity,
+        MovementType movement,
+        long count
+) {
+
+    public boolean matches(ExerciseSearchFilter filter) {
+        return (!filter.hasTarget() || filter.target().equals(target))
+                && (!filter.hasComplexity() || filter.complexity().equals(complexity))
+                && (!filter.hasMovement() || filter.movement().equals(movement));
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Number of exercises per facet value. Each facet is counted with the other filters applied but not its own,
+ * so every option shows how many results selecting it would give. {@code total} applies all filters.
+ */
+public record ExerciseFacets(
+        Map<TargetBodyPart, Long> targets,
+        Map<Complexity, Long> complexities,
+        Map<MovementType, Long> movements,
+        long total
+) {
+
+    public static ExerciseFacets of(List<ExerciseFacetCount> counts, ExerciseSearchFilter filter) {
+        Map<TargetBodyPart, Long> targets = zeros(TargetBodyPart.class, TargetBodyPart.ALL);
+        Map<Complexity, Long> complexities = zeros(Complexity.class, Complexity.ALL);
+        Map<MovementType, Long> movements = zeros(MovementType.class, MovementType.ALL);
+        long total = 0;
+
+        for (ExerciseFacetCount count : counts) {
+            boolean target = !filter.hasTarget() || filter.target().equals(count.target());
+            boolean complexity = !filter.hasComplexity() || filter.complexity().equals(count.complexity());
+            boolean movement = !filter.hasMovement() || filter.movement().equals(count.movement());
+
+            if (complexity && movement) {
+                targets.merge(count.target(), count.count(), Long::sum);
+            }
+            if (target && movement) {
+                complexities.merge(count.complexity(), count.count(), Long::sum);
+            }
+            if (target && complexity) {
+                movements.merge(count.movement(), count.count(), Long::sum);
+            }
+            if (target && complexity && movement) {
+                total += count.count();
+            }
+        }
+
+        return new ExerciseFacets(targets, complexities, movements, total);
+    }
+
+    public static <E extends Enum<E>> Map<E, Long> zeros(Class<E> type, E all) {
+        Map<E, Long> zeros = new EnumMap<>(type);
+        Arrays.stream(type.getEnumConstants())
+                .filter(value -> value != all)
+                .forEach(value -> zeros.put(value, 0L));
+
+        return zeros;
+    }
+
+}
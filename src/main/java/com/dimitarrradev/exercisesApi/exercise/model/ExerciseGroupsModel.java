@@ -0,0 +1,19 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class ExerciseGroupsModel extends RepresentationModel<ExerciseGroupsModel> {
+        private Map<TargetBodyPart, List<ExerciseModel>> groups;
+}
@@ -0,0 +1,27 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.ExerciseImportStatus;
+
+import java.util.List;
+
+public record ExerciseImportResult(
+        long created,
+        long duplicates,
+        long invalid,
+        List<ExerciseImportRowResult> rows
+) {
+
+    public static ExerciseImportResult of(List<ExerciseImportRowResult> rows) {
+        return new ExerciseImportResult(
+                count(rows, ExerciseImportStatus.CREATED),
+                count(rows, ExerciseImportStatus.DUPLICATE),
+                count(rows, ExerciseImportStatus.INVALID),
+                rows
+        );
+    }
+
+    private static long count(List<ExerciseImportRowResult> rows, ExerciseImportStatus status) {
+        return rows.stream().filter(row -> row.status() == status).count();
+    }
+
+}
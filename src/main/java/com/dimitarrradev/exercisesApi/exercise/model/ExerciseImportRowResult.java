@@ -0,0 +1,26 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.ExerciseImportStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExerciseImportRowResult(
+        int row,
+        ExerciseImportStatus status,
+        Long id,
+        String message
+) {
+
+    public static ExerciseImportRowResult created(int row, Long id) {
+        return new ExerciseImportRowResult(row, ExerciseImportStatus.CREATED, id, null);
+    }
+
+    public static ExerciseImportRowResult duplicate(int row) {
+        return new ExerciseImportRowResult(row, ExerciseImportStatus.DUPLICATE, null, null);
+    }
+
+    public static ExerciseImportRowResult invalid(int row, String message) {
+        return new ExerciseImportRowResult(row, ExerciseImportStatus.INVALID, null, message);
+    }
+
+}
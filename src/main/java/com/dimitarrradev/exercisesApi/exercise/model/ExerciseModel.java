@@ -3,10 +3,13 @@ package com.dimitarrradev.exercisesApi.exercise.model;
 import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
 import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
 import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonRootName;
 import lombok.*;
 import org.springframework.hateoas.RepresentationModel;
 
+import java.util.List;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -21,4 +24,10 @@ public class ExerciseModel extends RepresentationModel<ExerciseModel> {
         private MovementType movementType;
         private TargetBodyPart targetBodyPart;
         private Boolean isDeleted;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private List<ImageUrlModel> images;
+
+        public ExerciseModel(Long id, String name, Complexity complexity, String description, MovementType movementType, TargetBodyPart targetBodyPart, Boolean isDeleted) {
+                this(id, name, complexity, description, movementType, targetBodyPart, isDeleted, null);
+        }
 }
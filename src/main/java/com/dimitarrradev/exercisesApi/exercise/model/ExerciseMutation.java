@@ -0,0 +1,14 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExerciseMutation(
+        ExerciseChangeType type,
+        Long exerciseId,
+        List<Long> imageIds
+) {
+}
@@ -0,0 +1,11 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExerciseResync(
+        String reason,
+        String changes,
+        String since
+) {
+}
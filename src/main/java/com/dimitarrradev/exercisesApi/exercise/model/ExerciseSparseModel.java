@@ -0,0 +1,66 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseFields;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.EqualsAndHashCode;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An exercise narrowed to the fields a client asked for. Only the requested fields are written, null or
+ * not, where a full {@link ExerciseModel} always writes every field. Fields that were not requested are
+ * null, so non-JSON writers that read the getters leave them empty as well.
+ */
+@EqualsAndHashCode(callSuper = true)
+@JsonIgnoreProperties({
+        ExerciseFields.NAME, ExerciseFields.DESCRIPTION, ExerciseFields.COMPLEXITY, ExerciseFields.MOVEMENT_TYPE,
+        ExerciseFields.TARGET_BODY_PART, ExerciseFields.IS_DELETED, "images"
+})
+@Relation(itemRelation = "exerciseModel", collectionRelation = "exerciseModelList")
+public class ExerciseSparseModel extends ExerciseModel {
+
+    @JsonIgnore
+    private final ExerciseFields fields;
+
+    public ExerciseSparseModel(ExerciseModel model, ExerciseFields fields) {
+        super(
+                model.getId(),
+                fields.includes(ExerciseFields.NAME) ? model.getName() : null,
+                fields.includes(ExerciseFields.COMPLEXITY) ? model.getComplexity() : null,
+                fields.includes(ExerciseFields.DESCRIPTION) ? model.getDescription() : null,
+                fields.includes(ExerciseFields.MOVEMENT_TYPE) ? model.getMovementType() : null,
+                fields.includes(ExerciseFields.TARGET_BODY_PART) ? model.getTargetBodyPart() : null,
+                fields.includes(ExerciseFields.IS_DELETED) ? model.getIsDeleted() : null,
+                model.getImages()
+        );
+        this.fields = fields;
+        add(model.getLinks());
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getRequestedFields() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        putIfRequested(values, ExerciseFields.NAME, getName());
+        putIfRequested(values, ExerciseFields.COMPLEXITY, getComplexity());
+        putIfRequested(values, ExerciseFields.DESCRIPTION, getDescription());
+        putIfRequested(values, ExerciseFields.MOVEMENT_TYPE, getMovementType());
+        putIfRequested(values, ExerciseFields.TARGET_BODY_PART, getTargetBodyPart());
+        putIfRequested(values, ExerciseFields.IS_DELETED, getIsDeleted());
+        if (getImages() != null) {
+            values.put("images", getImages());
+        }
+
+        return values;
+    }
+
+    private void putIfRequested(Map<String, Object> values, String field, Object value) {
+        if (fields.includes(field)) {
+            values.put(field, value);
+        }
+    }
+
+}
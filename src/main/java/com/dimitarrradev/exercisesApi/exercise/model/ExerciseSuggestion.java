@@ -0,0 +1,7 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+public record ExerciseSuggestion(
+        Long id,
+        String name
+) {
+}
@@ -3,7 +3,9 @@ package com.dimitarrradev.exercisesApi.exercise.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "image_urls")
@@ -17,6 +19,8 @@ public class ImageUrl {
     @Column(nullable = false)
     private String url;
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Exercise exercise;
     private Boolean isDeleted;
 }
@@ -0,0 +1,14 @@
+package com.dimitarrradev.exercisesApi.exercise.model;
+
+public record ImageUrlView(
+        Long id,
+        String url,
+        Long exerciseId,
+        Boolean isDeleted
+) {
+
+    public static ImageUrlView of(ImageUrl imageUrl, Long exerciseId) {
+        return new ImageUrlView(imageUrl.getId(), imageUrl.getUrl(), exerciseId, imageUrl.getIsDeleted());
+    }
+
+}
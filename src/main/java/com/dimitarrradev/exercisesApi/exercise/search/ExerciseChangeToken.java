@@ -0,0 +1,41 @@
+package com.dimitarrradev.exercisesApi.exercise.search;
+
+import com.dimitarrradev.exercisesApi.error.exception.InvalidCursorException;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record ExerciseChangeToken(
+        LocalDateTime updatedAt,
+        Long id
+) {
+
+    public static final ExerciseChangeToken START = new ExerciseChangeToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private static final String SEPARATOR = "|";
+
+    public static ExerciseChangeToken of(Exercise exercise) {
+        return new ExerciseChangeToken(exercise.getUpdatedAt(), exercise.getId());
+    }
+
+    public static ExerciseChangeToken decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+
+            return new ExerciseChangeToken(LocalDateTime.parse(decoded.substring(0, separator)), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new InvalidCursorException("Invalid change token!");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((updatedAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
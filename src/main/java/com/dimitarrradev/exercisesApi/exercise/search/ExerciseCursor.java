@@ -0,0 +1,37 @@
+package com.dimitarrradev.exercisesApi.exercise.search;
+
+import com.dimitarrradev.exercisesApi.error.exception.InvalidCursorException;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record ExerciseCursor(
+        String name,
+        Long id
+) {
+
+    private static final String SEPARATOR = ":";
+
+    public static ExerciseCursor of(Exercise exercise) {
+        return new ExerciseCursor(exercise.getName(), exercise.getId());
+    }
+
+    public static ExerciseCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+
+            return new ExerciseCursor(decoded.substring(separator + 1), Long.parseLong(decoded.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new InvalidCursorException("Invalid search cursor!");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((id + SEPARATOR + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.dimitarrradev.exercisesApi.exercise.search;
+
+import com.dimitarrradev.exercisesApi.error.exception.InvalidFieldException;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseSparseModel;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+public record ExerciseFields(
+        Set<String> names
+) {
+
+    public static final String ID = "id";
+    public static final String NAME = "name";
+    public static final String DESCRIPTION = "description";
+    public static final String COMPLEXITY = "complexity";
+    public static final String MOVEMENT_TYPE = "movementType";
+    public static final String TARGET_BODY_PART = "targetBodyPart";
+    public static final String IS_DELETED = "isDeleted";
+
+    public static final ExerciseFields ALL = new ExerciseFields(
+            Set.of(ID, NAME, DESCRIPTION, COMPLEXITY, MOVEMENT_TYPE, TARGET_BODY_PART, IS_DELETED)
+    );
+
+    public static ExerciseFields of(Collection<String> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return ALL;
+        }
+
+        Set<String> names = new HashSet<>(requested);
+        names.add(ID);
+        for (String name : names) {
+            if (!ALL.includes(name)) {
+                throw new InvalidFieldException("Unknown exercise field: " + name + "!");
+            }
+        }
+
+        return new ExerciseFields(Set.copyOf(names));
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    public boolean isAll() {
+        return names.size() == ALL.names.size();
+    }
+
+    public ExerciseModel narrow(ExerciseModel model) {
+        return isAll() ? model : new ExerciseSparseModel(model, this);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.dimitarrradev.exercisesApi.exercise.search;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+
+public record ExerciseSearchFilter(
+        String name,
+        TargetBodyPart target,
+        Complexity complexity,
+        MovementType movement
+) {
+
+    public boolean hasName() {
+        return name != null && !name.isBlank();
+    }
+
+    public boolean hasTarget() {
+        return target != null && !target.equals(TargetBodyPart.ALL);
+    }
+
+    public boolean hasComplexity() {
+        return complexity != null && !complexity.equals(Complexity.ALL);
+    }
+
+    public boolean hasMovement() {
+        return movement != null && !movement.equals(MovementType.ALL);
+    }
+
+}
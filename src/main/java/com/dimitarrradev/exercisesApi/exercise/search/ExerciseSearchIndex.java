@@ -0,0 +1,424 @@
+package com.dimitarrradev.exercisesApi.exercise.search;
+
+import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExercisesAddedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseFacets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the non-deleted exercises used to answer searches without a SELECT + COUNT pair.
+ * Every exercise gets an ordinal in a name sorted array and each enum value keeps a bitset of the
+ * ordinals it matches, so a filter combination is a bitset AND followed by a slice of the array.
+ * Name filters go through a trigram posting list per lowercase trigram, the candidates left after
+ * the AND are then verified with a plain substring check.
+ * Each body part also keeps its exercises as a name sorted list, so grouped reads are prefix slices.
+ * Names are sorted by their key, the lowercase name as UTF-8 compared as unsigned bytes, which is the
+ * order the database keeps for the same key. Name prefixes are a binary search for the first key not
+ * below the prefix key, the matches are the run of keys after it that start with it.
+ * Writes only mark the index dirty, the arrays are rebuilt once on the next read.
+ * Changes that arrive while the table is being loaded are replayed over the loaded rows.
+ */
+@Slf4j
+@Component
+public class ExerciseSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    // Same order as the repository's ORDER BY e.nameKey, e.id: both compare the key as unsigned bytes,
+    // so cursors work on either path.
+    static final Comparator<Exercise> NAME_ORDER = Comparator
+            .comparing(Exercise::getNameKey, Arrays::compareUnsigned)
+            .thenComparing(Exercise::getId);
+
+    private final ExerciseRepository exerciseRepository;
+    private final boolean enabled;
+    private final Map<Long, Exercise> entries = new ConcurrentHashMap<>();
+
+    // Changes seen while load() reads the table, replayed over its result; null when no load is running.
+    private List<ExerciseChangedEvent> changesDuringLoad;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean dirty;
+    private volatile boolean loaded;
+
+    public ExerciseSearchIndex(
+            ExerciseRepository exerciseRepository,
+            @Value("${exercises.search.index.enabled:true}") boolean enabled
+    ) {
+        this.exerciseRepository = exerciseRepository;
+        this.enabled = enabled;
+        this.snapshot = Snapshot.of(List.of());
+    }
+
+    public boolean isAvailable() {
+        return enabled && loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+
+        List<Exercise> exercises;
+        try {
+            exercises = exerciseRepository.findAllByIsDeletedFalse();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            entries.clear();
+            exercises.forEach(this::put);
+            changesDuringLoad.forEach(this::apply);
+            changesDuringLoad = null;
+            snapshot = Snapshot.of(entries.values());
+            dirty = false;
+            loaded = true;
+        }
+
+        log.info("Loaded {} exercises into the search index", entries.size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExerciseChanged(ExerciseChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(event);
+            }
+
+            apply(event);
+            dirty = true;
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExercisesAdded(ExercisesAddedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            for (Exercise exercise : event.exercises()) {
+                ExerciseChangedEvent added = new ExerciseChangedEvent(ExerciseChangeType.ADDED, exercise);
+                if (changesDuringLoad != null) {
+                    changesDuringLoad.add(added);
+                }
+
+                apply(added);
+            }
+            dirty = true;
+        }
+    }
+
+    public Page<Exercise> search(ExerciseSearchFilter filter, Pageable pageable) {
+        Snapshot current = currentSnapshot();
+        BitSet matches = current.matching(filter);
+
+        boolean descending = pageable.getSort().getOrderFor("name") != null
+                && pageable.getSort().getOrderFor("name").getDirection().equals(Sort.Direction.DESC);
+
+        return new PageImpl<>(current.slice(matches, pageable, descending), pageable, matches.cardinality());
+    }
+
+    public Slice<Exercise> searchAfter(ExerciseSearchFilter filter, ExerciseCursor after, int size, Sort.Direction direction) {
+        Snapshot current = currentSnapshot();
+        BitSet matches = current.matching(filter);
+        boolean descending = direction.isDescending();
+
+        List<Exercise> content = new ArrayList<>(size);
+        int ordinal = current.start(matches, after, descending);
+        while (ordinal >= 0 && content.size() < size) {
+            content.add(current.byName()[ordinal]);
+            ordinal = descending ? matches.previousSetBit(ordinal - 1) : matches.nextSetBit(ordinal + 1);
+        }
+
+        return new SliceImpl<>(content, PageRequest.of(0, size, Sort.by(direction, "name", "id")), ordinal >= 0);
+    }
+
+    public ExerciseFacets facets(ExerciseSearchFilter filter) {
+        return currentSnapshot().facets(filter);
+    }
+
+    public List<Exercise> suggest(String prefix, int limit) {
+        return currentSnapshot().withPrefix(Exercise.nameKey(prefix), limit);
+    }
+
+    public Map<TargetBodyPart, List<Exercise>> groupByTarget(Collection<TargetBodyPart> targets, int limit) {
+        Snapshot current = currentSnapshot();
+        Map<TargetBodyPart, List<Exercise>> groups = new EnumMap<>(TargetBodyPart.class);
+
+        for (TargetBodyPart target : targets) {
+            List<Exercise> exercises = current.byTarget().getOrDefault(target, List.of());
+            groups.put(target, limit > 0 && exercises.size() > limit ? exercises.subList(0, limit) : exercises);
+        }
+
+        return groups;
+    }
+
+    private Snapshot currentSnapshot() {
+        if (dirty) {
+            synchronized (this) {
+                if (dirty) {
+                    dirty = false;
+                    snapshot = Snapshot.of(entries.values());
+                }
+            }
+        }
+
+        return snapshot;
+    }
+
+    private void apply(ExerciseChangedEvent event) {
+        Exercise exercise = event.exercise();
+        Exercise current = entries.get(exercise.getId());
+
+        // A late event must not undo a newer row the load already read.
+        if (current != null && current.getUpdatedAt() != null && exercise.getUpdatedAt() != null
+                && exercise.getUpdatedAt().isBefore(current.getUpdatedAt())) {
+            return;
+        }
+
+        if (event.type().equals(ExerciseChangeType.DELETED) || Boolean.TRUE.equals(exercise.getIsDeleted())) {
+            entries.remove(exercise.getId());
+        } else {
+            put(exercise);
+        }
+    }
+
+    private void put(Exercise exercise) {
+        entries.put(exercise.getId(), Exercise.builder()
+                .id(exercise.getId())
+                .name(exercise.getName())
+                .description(exercise.getDescription())
+                .complexity(exercise.getComplexity())
+                .targetBodyPart(exercise.getTargetBodyPart())
+                .movementType(exercise.getMovementType())
+                .createdAt(exercise.getCreatedAt())
+                .updatedAt(exercise.getUpdatedAt())
+                .isDeleted(Boolean.FALSE)
+                .nameKey(Exercise.nameKey(exercise.getName()))
+                .build());
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_SIZE));
+        }
+
+        return grams;
+    }
+
+    private record Snapshot(
+            Exercise[] byName,
+            String[] normalizedNames,
+            Map<String, BitSet> trigrams,
+            BitSet all,
+            Map<TargetBodyPart, BitSet> targets,
+            Map<Complexity, BitSet> complexities,
+            Map<MovementType, BitSet> movements,
+            Map<TargetBodyPart, List<Exercise>> byTarget
+    ) {
+
+        static Snapshot of(Collection<Exercise> exercises) {
+            Exercise[] byName = exercises.toArray(Exercise[]::new);
+            Arrays.sort(byName, NAME_ORDER);
+
+            String[] normalizedNames = new String[byName.length];
+            Map<String, BitSet> trigrams = new HashMap<>();
+            BitSet all = new BitSet(byName.length);
+            Map<TargetBodyPart, BitSet> targets = new EnumMap<>(TargetBodyPart.class);
+            Map<Complexity, BitSet> complexities = new EnumMap<>(Complexity.class);
+            Map<MovementType, BitSet> movements = new EnumMap<>(MovementType.class);
+            Map<TargetBodyPart, List<Exercise>> byTarget = new EnumMap<>(TargetBodyPart.class);
+
+            for (int ordinal = 0; ordinal < byName.length; ordinal++) {
+                Exercise exercise = byName[ordinal];
+                normalizedNames[ordinal] = normalize(exercise.getName());
+                for (String gram : ExerciseSearchIndex.trigrams(normalizedNames[ordinal])) {
+                    trigrams.computeIfAbsent(gram, key -> new BitSet()).set(ordinal);
+                }
+                all.set(ordinal);
+                targets.computeIfAbsent(exercise.getTargetBodyPart(), key -> new BitSet()).set(ordinal);
+                complexities.computeIfAbsent(exercise.getComplexity(), key -> new BitSet()).set(ordinal);
+                movements.computeIfAbsent(exercise.getMovementType(), key -> new BitSet()).set(ordinal);
+                byTarget.computeIfAbsent(exercise.getTargetBodyPart(), key -> new ArrayList<>()).add(exercise);
+            }
+            byTarget.replaceAll((target, group) -> Collections.unmodifiableList(group));
+
+            return new Snapshot(byName, normalizedNames, trigrams, all, targets, complexities, movements, byTarget);
+        }
+
+        BitSet matching(ExerciseSearchFilter filter) {
+            BitSet matches = (BitSet) all.clone();
+
+            if (filter.hasTarget()) {
+                matches.and(targets.getOrDefault(filter.target(), new BitSet()));
+            }
+            if (filter.hasComplexity()) {
+                matches.and(complexities.getOrDefault(filter.complexity(), new BitSet()));
+            }
+            if (filter.hasMovement()) {
+                matches.and(movements.getOrDefault(filter.movement(), new BitSet()));
+            }
+            if (filter.hasName()) {
+                matchName(matches, normalize(filter.name()));
+            }
+
+            return matches;
+        }
+
+        ExerciseFacets facets(ExerciseSearchFilter filter) {
+            BitSet named = matching(new ExerciseSearchFilter(filter.name(), TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL));
+            BitSet byTarget = filter.hasTarget() ? targets.getOrDefault(filter.target(), new BitSet()) : all;
+            BitSet byComplexity = filter.hasComplexity() ? complexities.getOrDefault(filter.complexity(), new BitSet()) : all;
+            BitSet byMovement = filter.hasMovement() ? movements.getOrDefault(filter.movement(), new BitSet()) : all;
+
+            BitSet total = intersect(named, byTarget, byComplexity, byMovement);
+
+            return new ExerciseFacets(
+                    count(ExerciseFacets.zeros(TargetBodyPart.class, TargetBodyPart.ALL), targets, intersect(named, byComplexity, byMovement)),
+                    count(ExerciseFacets.zeros(Complexity.class, Complexity.ALL), complexities, intersect(named, byTarget, byMovement)),
+                    count(ExerciseFacets.zeros(MovementType.class, MovementType.ALL), movements, intersect(named, byTarget, byComplexity)),
+                    total.cardinality()
+            );
+        }
+
+        private static <E extends Enum<E>> Map<E, Long> count(Map<E, Long> counts, Map<E, BitSet> bitsets, BitSet base) {
+            counts.replaceAll((value, zero) -> {
+                BitSet matches = (BitSet) base.clone();
+                matches.and(bitsets.getOrDefault(value, new BitSet()));
+
+                return (long) matches.cardinality();
+            });
+
+            return counts;
+        }
+
+        private static BitSet intersect(BitSet first, BitSet... others) {
+            BitSet result = (BitSet) first.clone();
+            for (BitSet other : others) {
+                result.and(other);
+            }
+
+            return result;
+        }
+
+        private void matchName(BitSet matches, String name) {
+            for (String gram : ExerciseSearchIndex.trigrams(name)) {
+                if (matches.isEmpty()) {
+                    return;
+                }
+                matches.and(trigrams.getOrDefault(gram, new BitSet()));
+            }
+
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                if (!normalizedNames[ordinal].contains(name)) {
+                    matches.clear(ordinal);
+                }
+            }
+        }
+
+        List<Exercise> withPrefix(byte[] prefix, int limit) {
+            int low = 0;
+            int high = byName.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (Arrays.compareUnsigned(byName[middle].getNameKey(), prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            List<Exercise> found = new ArrayList<>(Math.min(limit, byName.length - low));
+            for (int ordinal = low; ordinal < byName.length && found.size() < limit && startsWith(byName[ordinal].getNameKey(), prefix); ordinal++) {
+                found.add(byName[ordinal]);
+            }
+
+            return found;
+        }
+
+        private static boolean startsWith(byte[] key, byte[] prefix) {
+            return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+        }
+
+        int start(BitSet matches, ExerciseCursor after, boolean descending) {
+            if (after == null) {
+                return descending ? matches.previousSetBit(byName.length - 1) : matches.nextSetBit(0);
+            }
+
+            Exercise probe = Exercise.builder().id(after.id()).nameKey(Exercise.nameKey(after.name())).build();
+            int position = Arrays.binarySearch(byName, probe, NAME_ORDER);
+
+            if (position >= 0) {
+                return descending ? matches.previousSetBit(position - 1) : matches.nextSetBit(position + 1);
+            }
+
+            int insertion = -(position + 1);
+
+            return descending ? matches.previousSetBit(insertion - 1) : matches.nextSetBit(insertion);
+        }
+
+        List<Exercise> slice(BitSet matches, Pageable pageable, boolean descending) {
+            List<Exercise> content = new ArrayList<>(pageable.getPageSize());
+            long skip = pageable.getOffset();
+
+            int ordinal = descending ? matches.previousSetBit(byName.length - 1) : matches.nextSetBit(0);
+            while (ordinal >= 0 && content.size() < pageable.getPageSize()) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    content.add(byName[ordinal]);
+                }
+
+                ordinal = descending ? matches.previousSetBit(ordinal - 1) : matches.nextSetBit(ordinal + 1);
+            }
+
+            return content;
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.dimitarrradev.exercisesApi.exercise.service;
+
+import com.dimitarrradev.exercisesApi.config.ReadWriteRoutingDataSource;
+import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
+import com.dimitarrradev.exercisesApi.exercise.dao.ImageUrlRepository;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseChange;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseChanges;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseChangeToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Change feed over the exercises table, paged by an {@code (updated_at, id)} keyset so a sync only reads what
+ * changed since its token. Deleted exercises come back as tombstones and image changes touch their exercise.
+ * Every {@code updated_at} is stamped from the JVM clock, the same one the cut-off below is taken from.
+ * Pages are read from the primary even when a replica is configured: a row the replica applies later than
+ * the settle window would otherwise sort behind a token already handed out and never be sent.
+ * Rows younger than the settle window are held back, which makes it unlikely, not impossible, that a
+ * transaction committing later than that with an earlier timestamp ends up behind a token already handed out.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ExerciseChangeService {
+
+    private final ExerciseRepository exerciseRepository;
+    private final ImageUrlRepository imageUrlRepository;
+    private final Duration settleWindow;
+    private final Clock clock;
+
+    public ExerciseChangeService(
+            ExerciseRepository exerciseRepository,
+            ImageUrlRepository imageUrlRepository,
+            @Value("${exercises.changes.settle-window:2s}") Duration settleWindow,
+            Clock clock
+    ) {
+        this.exerciseRepository = exerciseRepository;
+        this.imageUrlRepository = imageUrlRepository;
+        this.settleWindow = settleWindow;
+        this.clock = clock;
+    }
+
+    public ExerciseChanges getChanges(String since, int size) {
+        return ReadWriteRoutingDataSource.onPrimary(() -> changes(since, size));
+    }
+
+    private ExerciseChanges changes(String since, int size) {
+        ExerciseChangeToken after = since == null || since.isBlank() ? ExerciseChangeToken.START : ExerciseChangeToken.decode(since);
+        LocalDateTime until = LocalDateTime.now(clock).minus(settleWindow);
+
+        List<Exercise> exercises = exerciseRepository.findChangedAfter(after.updatedAt(), after.id(), until, Limit.of(size + 1));
+        boolean hasMore = exercises.size() > size;
+        List<Exercise> page = hasMore ? exercises.subList(0, size) : exercises;
+
+        Map<Long, List<ImageUrlView>> images = page.isEmpty() ? Map.of() : imageUrlRepository
+                .findViewsByExerciseIdIn(page.stream().map(Exercise::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(ImageUrlView::exerciseId));
+
+        List<ExerciseChange> changes = page.stream()
+                .map(exercise -> ExerciseChange.of(exercise, images.getOrDefault(exercise.getId(), List.of())))
+                .toList();
+        ExerciseChangeToken next = page.isEmpty() ? after : ExerciseChangeToken.of(page.getLast());
+
+        return new ExerciseChanges(changes, next.encode(), hasMore);
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillUpdatedAt() {
+        int rows = exerciseRepository.backfillUpdatedAt(LocalDateTime.now(clock));
+        if (rows > 0) {
+            log.info("Set updated_at on {} exercises that had none", rows);
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.dimitarrradev.exercisesApi.exercise.service;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.ExerciseExportFormat;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes the catalogue to an output stream one row at a time. Rows come from a forward-only cursor
+ * on the export pool and are mapped without a persistence context, so memory does not grow with the table.
+ */
+@Slf4j
+@Service
+public class ExerciseExportService {
+
+    private static final String[] COLUMNS = {"id", "name", "complexity", "description", "movementType", "targetBodyPart", "isDeleted"};
+    private static final String SELECT_ALL = "SELECT id, name, complexity, description, movement_type, target_body_part, is_deleted " +
+            "FROM exercises ORDER BY id";
+    private static final String SELECT_NOT_DELETED = "SELECT id, name, complexity, description, movement_type, target_body_part, is_deleted " +
+            "FROM exercises WHERE is_deleted = false ORDER BY id";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExerciseExportService(@Qualifier("exportDataSource") DataSource exportDataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(exportDataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(ExerciseExportFormat format, boolean includeDeleted, OutputStream outputStream) throws IOException {
+        long rows = 0;
+
+        try (Stream<Exercise> exercises = jdbcTemplate.queryForStream(
+                includeDeleted ? SELECT_ALL : SELECT_NOT_DELETED, ExerciseExportService::mapRow);
+             RowWriter writer = format == ExerciseExportFormat.CSV ?
+                     new CsvRowWriter(outputStream) :
+                     new NdjsonRowWriter(objectMapper.getFactory().createGenerator(outputStream))) {
+
+            Iterator<Exercise> iterator = exercises.iterator();
+            while (iterator.hasNext()) {
+                Exercise exercise = iterator.next();
+                writer.write(exercise);
+                rows++;
+            }
+        }
+
+        log.info("Exported {} exercises as {}", rows, format);
+    }
+
+    private static Exercise mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        return Exercise.builder()
+                .id(resultSet.getLong("id"))
+                .name(resultSet.getString("name"))
+                .complexity(enumValue(resultSet.getString("complexity"), Complexity::valueOf))
+                .description(resultSet.getString("description"))
+                .movementType(enumValue(resultSet.getString("movement_type"), MovementType::valueOf))
+                .targetBodyPart(enumValue(resultSet.getString("target_body_part"), TargetBodyPart::valueOf))
+                .isDeleted(resultSet.getBoolean("is_deleted"))
+                .build();
+    }
+
+    private static <E extends Enum<E>> E enumValue(String value, Function<String, E> valueOf) {
+        return value == null ? null : valueOf.apply(value);
+    }
+
+    private interface RowWriter extends Closeable {
+
+        void write(Exercise exercise) throws IOException;
+
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(JsonGenerator generator) {
+            this.generator = generator;
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Exercise exercise) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], exercise.getId());
+            generator.writeStringField(COLUMNS[1], exercise.getName());
+            generator.writeStringField(COLUMNS[2], name(exercise.getComplexity()));
+            generator.writeStringField(COLUMNS[3], exercise.getDescription());
+            generator.writeStringField(COLUMNS[4], name(exercise.getMovementType()));
+            generator.writeStringField(COLUMNS[5], name(exercise.getTargetBodyPart()));
+            generator.writeBooleanField(COLUMNS[6], exercise.getIsDeleted());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.writer.write(String.join(",", COLUMNS));
+            this.writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Exercise exercise) throws IOException {
+            writer.write(String.valueOf(exercise.getId()));
+            writer.write(',');
+            writer.write(escape(exercise.getName()));
+            writer.write(',');
+            writer.write(escape(name(exercise.getComplexity())));
+            writer.write(',');
+            writer.write(escape(exercise.getDescription()));
+            writer.write(',');
+            writer.write(escape(name(exercise.getMovementType())));
+            writer.write(',');
+            writer.write(escape(name(exercise.getTargetBodyPart())));
+            writer.write(',');
+            writer.write(String.valueOf(exercise.getIsDeleted()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+}
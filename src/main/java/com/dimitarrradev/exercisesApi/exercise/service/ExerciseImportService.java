@@ -0,0 +1,168 @@
+package com.dimitarrradev.exercisesApi.exercise.service;
+
+import com.dimitarrradev.exercisesApi.controller.binding.ExerciseAddModel;
+import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
+import com.dimitarrradev.exercisesApi.exercise.event.ExercisesAddedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseImportResult;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseImportRowResult;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseFromModelMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports exercises from a JSON array or newline delimited JSON body without reading it whole.
+ * Rows are collected into chunks, each chunk checks its names with one IN query on the indexed name key,
+ * is inserted as one JDBC batch in its own transaction and publishes one event for all of its rows,
+ * so a large import never holds one long transaction. Names are compared case-insensitively. A body that stops parsing part way ends the import with an invalid
+ * row at that point; the result still reports every row read before it, which were imported.
+ */
+@Slf4j
+@Service
+public class ExerciseImportService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ExerciseRepository exerciseRepository;
+    private final ExerciseFromModelMapper exerciseFromModelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ExerciseImportService(
+            ObjectMapper objectMapper,
+            Validator validator,
+            ExerciseRepository exerciseRepository,
+            ExerciseFromModelMapper exerciseFromModelMapper,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${exercises.import.chunk-size:1000}") int chunkSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.exerciseRepository = exerciseRepository;
+        this.exerciseFromModelMapper = exerciseFromModelMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public ExerciseImportResult importExercises(InputStream body) {
+        List<ExerciseImportRowResult> results = new ArrayList<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int row = 0;
+
+        try (MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            while (nodes.hasNextValue()) {
+                JsonNode node = nodes.nextValue();
+                PendingRow pending = read(row, node, results);
+                if (pending != null) {
+                    chunk.add(pending);
+                }
+                row++;
+
+                if (chunk.size() == chunkSize) {
+                    results.addAll(importChunk(chunk));
+                    chunk.clear();
+                }
+            }
+        } catch (IOException exception) {
+            log.warn("Exercise import stopped at malformed row {}", row, exception);
+            results.add(ExerciseImportRowResult.invalid(row, "Malformed import body, no rows were read after this one!"));
+        }
+
+        results.addAll(importChunk(chunk));
+        results.sort(Comparator.comparingInt(ExerciseImportRowResult::row));
+
+        log.info("Imported {} exercise rows", row);
+
+        return ExerciseImportResult.of(results);
+    }
+
+    private PendingRow read(int row, JsonNode node, List<ExerciseImportRowResult> results) {
+        ExerciseAddModel addModel;
+        try {
+            addModel = objectMapper.treeToValue(node, ExerciseAddModel.class);
+        } catch (JsonProcessingException | IllegalArgumentException exception) {
+            results.add(ExerciseImportRowResult.invalid(row, "Unreadable exercise!"));
+            return null;
+        }
+
+        Set<ConstraintViolation<ExerciseAddModel>> violations = validator.validate(addModel);
+        if (!violations.isEmpty()) {
+            String fields = violations.stream()
+                    .map(violation -> violation.getPropertyPath().toString())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            results.add(ExerciseImportRowResult.invalid(row, "Invalid fields: " + fields));
+            return null;
+        }
+
+        return new PendingRow(row, addModel);
+    }
+
+    private List<ExerciseImportRowResult> importChunk(List<PendingRow> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        return transactionTemplate.execute(status -> {
+            Set<String> names = new HashSet<>(exerciseRepository.findExistingLowerCaseNames(
+                    chunk.stream().map(pending -> Exercise.nameKey(pending.addModel().name())).toList()));
+
+            List<ExerciseImportRowResult> results = new ArrayList<>(chunk.size());
+            List<Integer> rows = new ArrayList<>(chunk.size());
+            List<Exercise> exercises = new ArrayList<>(chunk.size());
+
+            for (PendingRow pending : chunk) {
+                if (!names.add(lowerCase(pending.addModel().name()))) {
+                    results.add(ExerciseImportRowResult.duplicate(pending.row()));
+                    continue;
+                }
+
+                Exercise exercise = exerciseFromModelMapper.fromExerciseAddModel(pending.addModel());
+                exercise.setIsDeleted(Boolean.FALSE);
+                exercises.add(exercise);
+                rows.add(pending.row());
+            }
+
+            exerciseRepository.insertAll(exercises);
+
+            for (int i = 0; i < exercises.size(); i++) {
+                results.add(ExerciseImportRowResult.created(rows.get(i), exercises.get(i).getId()));
+            }
+
+            if (!exercises.isEmpty()) {
+                eventPublisher.publishEvent(new ExercisesAddedEvent(exercises));
+            }
+
+            return results;
+        });
+    }
+
+    private static String lowerCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record PendingRow(
+            int row,
+            ExerciseAddModel addModel
+    ) {
+    }
+
+}
@@ -6,32 +6,65 @@ import com.dimitarrradev.exercisesApi.controller.binding.ImageUrlsAddModel;
 import com.dimitarrradev.exercisesApi.error.exception.ExerciseAlreadyExistsException;
 import com.dimitarrradev.exercisesApi.error.exception.ExerciseNotFoundException;
 import com.dimitarrradev.exercisesApi.error.exception.ImageNotFoundException;
+import com.dimitarrradev.exercisesApi.exercise.cache.ExerciseCache;
 import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
 import com.dimitarrradev.exercisesApi.exercise.dao.ImageUrlRepository;
 import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.ExerciseCountStrategy;
 import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
 import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseImagesChangedEvent;
 import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseBatchModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseFacetCount;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseFacets;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseGroupsModel;
 import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseSuggestion;
 import com.dimitarrradev.exercisesApi.exercise.model.ImageUrl;
 import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseCursor;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseFields;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchIndex;
 import com.dimitarrradev.exercisesApi.exercise.util.ExerciseFromModelMapper;
 import com.dimitarrradev.exercisesApi.exercise.util.ExerciseModelAssembler;
 import com.dimitarrradev.exercisesApi.exercise.util.ImageUrlFromModelMapper;
 import com.dimitarrradev.exercisesApi.exercise.util.ImageUrlModelAssembler;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -46,6 +79,21 @@ public class ExerciseService {
     private final ExerciseFromModelMapper exerciseFromModelMapper;
     private final ImageUrlFromModelMapper imageUrlFromModelMapper;
     private final PagedResourcesAssembler<Exercise> resourcesAssembler;
+    private final ExerciseSearchIndex exerciseSearchIndex;
+    private final ExerciseCache exerciseCache;
+    private final ExerciseWriteBehind exerciseWriteBehind;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillNameKeys() {
+        List<Exercise> exercises = exerciseRepository.findAllByNameKeyIsNull();
+        exercises.forEach(exercise -> exerciseRepository.setNameKey(exercise.getId(), Exercise.nameKey(exercise.getName())));
+
+        if (!exercises.isEmpty()) {
+            log.info("Set name_key on {} exercises that had none", exercises.size());
+        }
+    }
 
     public ExerciseModel addExercise(ExerciseAddModel exerciseAddModel) {
         if (exerciseRepository.existsExerciseByNameAndIsDeletedFalse(exerciseAddModel.name())) {
@@ -56,7 +104,11 @@ public class ExerciseService {
 
         exercise.setIsDeleted(Boolean.FALSE);
 
-        return exerciseModelAssembler.toModel(exerciseRepository.save(exercise));
+        Exercise saved = exerciseRepository.save(exercise);
+
+        eventPublisher.publishEvent(new ExerciseChangedEvent(ExerciseChangeType.ADDED, saved));
+
+        return exerciseModelAssembler.toModel(saved);
     }
 
     public ExerciseModel deleteExercise(Long id) {
@@ -64,29 +116,108 @@ public class ExerciseService {
                 .findById(id)
                 .orElseThrow(() -> new ExerciseNotFoundException("Exercise not found!"));
 
+        if (exerciseWriteBehind.deleteExercise(id)) {
+
+            ExerciseModel model = exerciseModelAssembler.toModel(toDelete);
+            model.setIsDeleted(Boolean.TRUE);
+
+            return model;
+        }
+
         toDelete.setIsDeleted(Boolean.TRUE);
 
-        exerciseRepository.saveAndFlush(toDelete);
+        exerciseRepository.save(toDelete);
+
+        eventPublisher.publishEvent(new ExerciseChangedEvent(ExerciseChangeType.DELETED, toDelete));
 
         return exerciseModelAssembler.toModel(toDelete);
     }
 
+    @Transactional(readOnly = true)
     public PagedModel<ExerciseModel> searchExercises(String name, TargetBodyPart target, Complexity complexity, MovementType movement, int page, int size, String orderBy) {
+        return searchExercises(name, target, complexity, movement, page, size, orderBy, ExerciseCountStrategy.EXACT);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ExerciseCountStrategy countStrategyFor(String name, ExerciseCountStrategy requested) {
+        return exerciseSearchIndex.isAvailable() ? ExerciseCountStrategy.EXACT : requested;
+    }
+
+    @Transactional(readOnly = true)
+    public PagedModel<ExerciseModel> searchExercises(String name, TargetBodyPart target, Complexity complexity, MovementType movement, int page, int size, String orderBy, ExerciseCountStrategy count) {
+        return searchExercises(name, target, complexity, movement, page, size, orderBy, count, ExerciseFields.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public PagedModel<ExerciseModel> searchExercises(String name, TargetBodyPart target, Complexity complexity, MovementType movement, int page, int size, String orderBy, ExerciseCountStrategy count, ExerciseFields fields) {
         Sort sort = orderBy.equalsIgnoreCase("asc") ?
                 Sort.by("name").ascending() :
                 Sort.by("name").descending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Exercise> exercisesPage = getExercisePage(name, target, complexity, movement, pageable);
+        ExerciseSearchFilter filter = new ExerciseSearchFilter(name, target, complexity, movement);
+
+        LongSupplier total = switch (countStrategyFor(name, count)) {
+            case EXACT -> () -> exerciseRepository.countMatching(filter);
+            case CACHED -> () -> exerciseCache.countExercises(filter);
+            case ESTIMATED -> () -> exerciseCache.findFacetCounts(filter.hasName() ? filter.name() : "").stream()
+                    .filter(facetCount -> facetCount.matches(filter))
+                    .mapToLong(ExerciseFacetCount::count)
+                    .sum();
+        };
+
+        Page<Exercise> exercisesPage = exerciseSearchIndex.isAvailable() ?
+                exerciseSearchIndex.search(filter, pageable) :
+                exerciseRepository.search(filter, pageable, total, fields);
+
+        return resourcesAssembler.toModel(exercisesPage, exercise -> fields.narrow(exerciseModelAssembler.toModel(exercise)));
+    }
+
+    @Transactional(readOnly = true)
+    public ExerciseFacets getFacets(String name, TargetBodyPart target, Complexity complexity, MovementType movement) {
+        ExerciseSearchFilter filter = new ExerciseSearchFilter(name, target, complexity, movement);
 
-        return resourcesAssembler.toModel(exercisesPage, exerciseModelAssembler);
+        return exerciseSearchIndex.isAvailable() ?
+                exerciseSearchIndex.facets(filter) :
+                ExerciseFacets.of(exerciseCache.findFacetCounts(filter.hasName() ? filter.name() : ""), filter);
     }
 
+    @Transactional(readOnly = true)
+    public CollectionModel<ExerciseModel> searchExercisesAfter(String name, TargetBodyPart target, Complexity complexity, MovementType movement, String after, int size, String orderBy, ExerciseFields fields) {
+        Sort.Direction direction = orderBy.equalsIgnoreCase("asc") ?
+                Sort.Direction.ASC :
+                Sort.Direction.DESC;
+
+        ExerciseSearchFilter filter = new ExerciseSearchFilter(name, target, complexity, movement);
+        ExerciseCursor cursor = after == null || after.isBlank() ? null : ExerciseCursor.decode(after);
+
+        Slice<Exercise> exercisesSlice = exerciseSearchIndex.isAvailable() ?
+                exerciseSearchIndex.searchAfter(filter, cursor, size, direction) :
+                exerciseRepository.searchAfter(filter, cursor, size, direction, fields);
+
+        CollectionModel<ExerciseModel> model = CollectionModel.of(exercisesSlice.getContent().stream()
+                .map(exerciseModelAssembler::toModel)
+                .map(fields::narrow)
+                .toList());
+
+        UriComponentsBuilder currentRequest = ServletUriComponentsBuilder.fromCurrentRequest();
+        model.add(Link.of(currentRequest.build(true).toUriString()).withSelfRel());
+
+        if (exercisesSlice.hasNext()) {
+            String next = ExerciseCursor.of(exercisesSlice.getContent().getLast()).encode();
+            model.add(Link.of(currentRequest.replaceQueryParam("after", next).build(true).toUriString())
+                    .withRel(IanaLinkRelations.NEXT));
+        }
+
+        return model;
+    }
+
+    @Transactional(readOnly = true)
     public ExerciseModel getExerciseModel(Long id) {
         log.info("Getting exercise view with id: {}", id);
-        return exerciseRepository
-                .findById(id).map(exerciseModelAssembler::toModel)
+        return exerciseCache
+                .findExercise(id).map(exerciseModelAssembler::toModel)
                 .orElseThrow(() -> new ExerciseNotFoundException("Exercise not found"));
     }
 
@@ -101,20 +232,97 @@ public class ExerciseService {
         exercise.setTargetBodyPart(editModel.bodyPart());
         exercise.setMovementType(editModel.movement());
 
-        return exerciseModelAssembler.toModel(exerciseRepository.saveAndFlush(exercise));
+        Exercise saved = exerciseRepository.save(exercise);
+
+        eventPublisher.publishEvent(new ExerciseChangedEvent(ExerciseChangeType.EDITED, saved));
+
+        return exerciseModelAssembler.toModel(saved);
     }
 
-    public CollectionModel<ExerciseModel> getExercisesForTargetBodyParts(List<TargetBodyPart> targetBodyParts) {
-        return exerciseModelAssembler.toCollectionModel(exerciseRepository
-                .findAllByTargetBodyPartIsInAndIsDeletedFalse(targetBodyParts));
+    @Transactional(readOnly = true)
+    public ExerciseBatchModel getExercises(List<Long> ids) {
+        List<Long> requested = ids.stream().distinct().toList();
+        Map<Long, Exercise> found = exerciseCache.findExercises(requested);
+
+        List<Exercise> exercises = requested.stream()
+                .filter(found::containsKey)
+                .map(found::get)
+                .toList();
+        List<Long> missing = requested.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+
+        return new ExerciseBatchModel(exerciseModelAssembler.toCollectionModel(exercises).getContent(), missing);
+    }
+
+    @Transactional(readOnly = true)
+    public void embedImages(Collection<ExerciseModel> models) {
+        if (models.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<ImageUrlModel>> images = imageUrlRepository
+                .findViewsByExerciseIdIn(models.stream().map(ExerciseModel::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        ImageUrlView::exerciseId,
+                        Collectors.mapping(imageUrlModelAssembler::toModel, Collectors.toList())
+                ));
+
+        models.forEach(model -> model.setImages(images.getOrDefault(model.getId(), List.of())));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExerciseSuggestion> suggestExercises(String prefix, int limit) {
+        if (!exerciseSearchIndex.isAvailable()) {
+            return exerciseRepository.suggest(prefix, limit);
+        }
+
+        return exerciseSearchIndex.suggest(prefix, limit).stream()
+                .map(exercise -> new ExerciseSuggestion(exercise.getId(), exercise.getName()))
+                .toList();
     }
 
+    @Transactional(readOnly = true)
+    public ExerciseGroupsModel getExercisesForTargetBodyParts(Collection<TargetBodyPart> targetBodyParts, int limit) {
+        List<TargetBodyPart> targets = targetBodyParts.isEmpty() || targetBodyParts.contains(TargetBodyPart.ALL) ?
+                Arrays.stream(TargetBodyPart.values()).filter(target -> target != TargetBodyPart.ALL).toList() :
+                targetBodyParts.stream().distinct().sorted().toList();
+
+        Map<TargetBodyPart, List<Exercise>> groups = exerciseSearchIndex.isAvailable() ?
+                exerciseSearchIndex.groupByTarget(targets, limit) :
+                groupByTarget(targets, limit);
+
+        Map<TargetBodyPart, List<ExerciseModel>> models = new EnumMap<>(TargetBodyPart.class);
+        groups.forEach((target, exercises) -> models.put(target, exercises.stream().map(exerciseModelAssembler::toModel).toList()));
+
+        return new ExerciseGroupsModel(models);
+    }
+
+    private Map<TargetBodyPart, List<Exercise>> groupByTarget(List<TargetBodyPart> targets, int limit) {
+        Map<TargetBodyPart, List<Exercise>> groups = new EnumMap<>(TargetBodyPart.class);
+        targets.forEach(target -> groups.put(target, new ArrayList<>()));
+
+        exerciseRepository
+                .findAllByTargetBodyPartIsInAndIsDeletedFalse(targets, Sort.by("name", "id"))
+                .forEach(exercise -> {
+                    List<Exercise> group = groups.get(exercise.getTargetBodyPart());
+                    if (limit <= 0 || group.size() < limit) {
+                        group.add(exercise);
+                    }
+                });
+
+        return groups;
+    }
+
+    @Transactional(readOnly = true)
     public Exercise getExerciseEntity(Long id) {
         return exerciseRepository
                 .findById(id)
                 .orElseThrow(() -> new ExerciseNotFoundException("Exercise not found!"));
     }
 
+    @Transactional(readOnly = true)
     public CollectionModel<ExerciseModel> getAllExercises() {
         return exerciseModelAssembler.toCollectionModel(exerciseRepository
                 .findAll()
@@ -122,13 +330,11 @@ public class ExerciseService {
                 .toList());
     }
 
+    @Transactional(readOnly = true)
     public CollectionModel<ImageUrlModel> getImages(Long id) {
-        if (!exerciseRepository.existsById(id)) {
-            throw new ExerciseNotFoundException("Exercise not found!");
-        }
-
         return imageUrlModelAssembler.toCollectionModel(
-                imageUrlRepository.findByExercise_Id(id)
+                exerciseCache.findImages(id)
+                        .orElseThrow(() -> new ExerciseNotFoundException("Exercise not found!"))
         );
     }
 
@@ -141,11 +347,23 @@ public class ExerciseService {
 
         images.forEach(image -> image.setExercise(exercise));
 
-        return imageUrlModelAssembler.toCollectionModel(imageUrlRepository.saveAllAndFlush(images));
+        List<ImageUrl> saved = imageUrlRepository.saveAllAndFlush(images);
+        exerciseRepository.touchAll(List.of(id), LocalDateTime.now(clock));
+
+        eventPublisher.publishEvent(new ExerciseImagesChangedEvent(
+                ExerciseChangeType.IMAGES_ADDED,
+                id,
+                saved.stream().map(ImageUrl::getId).toList()
+        ));
+
+        return imageUrlModelAssembler.toCollectionModel(
+                saved.stream().map(image -> ImageUrlView.of(image, id)).toList()
+        );
     }
 
+    @Transactional(readOnly = true)
     public ImageUrlModel getImage(Long id, Long imageId) {
-        ImageUrl imageUrl = imageUrlRepository.findByIdAndExercise_id(imageId, id)
+        ImageUrlView imageUrl = imageUrlRepository.findViewByIdAndExerciseId(imageId, id)
                 .orElseThrow(() -> new ImageNotFoundException("Image or exercise does not exist!"));
 
         return imageUrlModelAssembler.toModel(imageUrl);
@@ -155,124 +373,19 @@ public class ExerciseService {
         ImageUrl imageUrl = imageUrlRepository.findByIdAndExercise_id(imageId, id)
                 .orElseThrow(() -> new ImageNotFoundException("Image or exercise does not exist!"));
 
-        imageUrlRepository.delete(imageUrl);
-
-        imageUrl.setIsDeleted(Boolean.TRUE);
-
-        return imageUrlModelAssembler.toModel(imageUrl);
-    }
-
-    private Page<Exercise> getExercisePage(String name, TargetBodyPart target, Complexity complexity, MovementType movement, Pageable pageable) {
-        if (name == null || name.isBlank()) {
-            return getExercisePage(target, complexity, movement, pageable);
-        }
-
-        return exerciseRepository
-                .findAllByNameContainingIgnoreCaseAndIsDeletedFalse(pageable, name);
-    }
-
-    private Page<Exercise> getExercisePage(TargetBodyPart target, Complexity complexity, MovementType movement, Pageable pageable) {
-        if (target.equals(TargetBodyPart.ALL)) {
-            return getExercisePage(complexity, movement, pageable);
-        } else if (complexity.equals(Complexity.ALL)) {
-            return getExercisePage(target, movement, pageable);
-        } else if (movement.equals(MovementType.ALL)) {
-            return getExercisePage(target, complexity, pageable);
-        }
-
-        return exerciseRepository
-                .findAllByTargetBodyPartAndComplexityAndMovementTypeAndIsDeletedFalse(
-                        pageable,
-                        target,
-                        complexity,
-                        movement
-                );
-    }
-
-    private Page<Exercise> getExercisePage(TargetBodyPart target, MovementType movement, Pageable pageable) {
-        if (target.equals(TargetBodyPart.ALL)) {
-            return getExercisePage(movement, pageable);
-        } else if (movement.equals(MovementType.ALL)) {
-            return getExercisePage(target, pageable);
-        }
-
-        return exerciseRepository
-                .findAllByTargetBodyPartAndMovementTypeAndIsDeletedFalse(
-                        pageable,
-                        target,
-                        movement
-                );
-    }
-
-    private Page<Exercise> getExercisePage(TargetBodyPart target, Complexity complexity, Pageable pageable) {
-        if (target.equals(TargetBodyPart.ALL)) {
-            return getExercisePage(complexity, pageable);
-        } else if (complexity.equals(Complexity.ALL)) {
-            return getExercisePage(target, pageable);
-        }
-
-        return exerciseRepository
-                .findAllByTargetBodyPartAndComplexityAndIsDeletedFalse(
-                        pageable,
-                        target,
-                        complexity
-                );
-    }
-
-    private Page<Exercise> getExercisePage(Complexity complexity, MovementType movement, Pageable pageable) {
-        if (complexity.equals(Complexity.ALL)) {
-            return getExercisePage(movement, pageable);
-        } else if (movement.equals(MovementType.ALL)) {
-            return getExercisePage(complexity, pageable);
-        }
-
-        return exerciseRepository
-                .findAllByComplexityAndMovementTypeAndIsDeletedFalse(
-                        pageable,
-                        complexity,
-                        movement
-                );
-    }
+        if (exerciseWriteBehind.deleteImage(id, imageId)) {
 
-    private Page<Exercise> getExercisePage(TargetBodyPart target, Pageable pageable) {
-        if (target.equals(TargetBodyPart.ALL)) {
-            return getExercisePage(pageable);
+            return imageUrlModelAssembler.toModel(new ImageUrlView(imageUrl.getId(), imageUrl.getUrl(), id, Boolean.TRUE));
         }
 
-        return exerciseRepository
-                .findAllByTargetBodyPartAndIsDeletedFalse(
-                        pageable,
-                        target
-                );
-    }
-
-    private Page<Exercise> getExercisePage(Complexity complexity, Pageable pageable) {
-        if (complexity.equals(Complexity.ALL)) {
-            return getExercisePage(pageable);
-        }
-
-        return exerciseRepository
-                .findAllByComplexityAndIsDeletedFalse(
-                        pageable,
-                        complexity
-                );
-    }
+        imageUrl.setIsDeleted(Boolean.TRUE);
 
-    private Page<Exercise> getExercisePage(MovementType movement, Pageable pageable) {
-        if (movement.equals(MovementType.ALL)) {
-            return getExercisePage(pageable);
-        }
+        imageUrlRepository.save(imageUrl);
+        exerciseRepository.touchAll(List.of(id), LocalDateTime.now(clock));
 
-        return exerciseRepository
-                .findAllByMovementTypeAndIsDeletedFalse(
-                        pageable,
-                        movement
-                );
-    }
+        eventPublisher.publishEvent(new ExerciseImagesChangedEvent(ExerciseChangeType.IMAGE_DELETED, id, List.of(imageId)));
 
-    private Page<Exercise> getExercisePage(Pageable pageable) {
-        return exerciseRepository
-                .findAllByIsDeletedFalse(pageable);
+        return imageUrlModelAssembler.toModel(ImageUrlView.of(imageUrl, id));
     }
 
 }
\ No newline at end of file
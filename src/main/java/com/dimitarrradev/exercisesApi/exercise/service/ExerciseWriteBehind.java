@@ -0,0 +1,332 @@
+package com.dimitarrradev.exercisesApi.exercise.service;
+
+import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
+import com.dimitarrradev.exercisesApi.exercise.dao.ImageUrlRepository;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseImagesChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind path for exercise and image soft deletes.
+ * A delete is acknowledged once it is forced to the {@link SoftDeleteLog}; the force runs outside the queue lock so
+ * concurrent deletes share one fsync. A single background thread then
+ * applies the queued deletes as bulk {@code UPDATE ... WHERE id IN (...)} statements, either every flush interval
+ * or as soon as a batch fills up. Change events are published from that transaction, so caches and the search
+ * index see a delete once it is committed rather than when it is acknowledged.
+ * Entries left in the log by a crash are applied again on startup, which is safe since the updates are idempotent
+ * and events are only published for rows that were not deleted yet.
+ * Every committed sub-batch is dropped from the retry set. A sub-batch that fails is retried entry by entry on the
+ * next flush, and an entry that keeps failing is moved to the dead-letter log after {@code max-attempts} tries.
+ * Failures that look like the database being unavailable stop the flush without counting against any entry.
+ * Once stopped, deletes are refused and the caller applies them synchronously.
+ */
+@Slf4j
+@Component
+public class ExerciseWriteBehind {
+
+    private final ExerciseRepository exerciseRepository;
+    private final ImageUrlRepository imageUrlRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final SoftDeleteLog softDeleteLog;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final int maxAttempts;
+    private final Clock clock;
+
+    private final Object lock = new Object();
+    private final Map<SoftDelete, Integer> failures = new HashMap<>();
+    private List<SoftDelete> pending = new ArrayList<>();
+    private volatile ScheduledExecutorService flusher;
+    private boolean stopped;
+
+    public ExerciseWriteBehind(
+            ExerciseRepository exerciseRepository,
+            ImageUrlRepository imageUrlRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${exercises.write-behind.enabled:false}") boolean enabled,
+            @Value("${exercises.write-behind.batch-size:500}") int batchSize,
+            @Value("${exercises.write-behind.flush-interval:1s}") Duration flushInterval,
+            @Value("${exercises.write-behind.max-attempts:5}") int maxAttempts,
+            @Value("${exercises.write-behind.log-dir:write-behind}") Path logDirectory,
+            Clock clock
+    ) {
+        this.exerciseRepository = exerciseRepository;
+        this.imageUrlRepository = imageUrlRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.softDeleteLog = new SoftDeleteLog(logDirectory, objectMapper);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.maxAttempts = maxAttempts;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        List<SoftDelete> recovered = softDeleteLog.open();
+
+        synchronized (lock) {
+            pending.addAll(recovered);
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("exercise-write-behind").daemon().factory());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} soft deletes from the write-behind log", recovered.size());
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+
+        synchronized (lock) {
+            stopped = true;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        softDeleteLog.close();
+    }
+
+    /**
+     * Returns false when the write-behind is disabled or stopped, in which case the caller deletes the exercise itself.
+     */
+    public boolean deleteExercise(Long id) {
+        return enqueue(new SoftDelete(SoftDelete.Target.EXERCISE, id, id));
+    }
+
+    /**
+     * Returns false when the write-behind is disabled or stopped, in which case the caller deletes the image itself.
+     */
+    public boolean deleteImage(Long exerciseId, Long imageId) {
+        return enqueue(new SoftDelete(SoftDelete.Target.IMAGE, imageId, exerciseId));
+    }
+
+    private boolean enqueue(SoftDelete delete) {
+        long position;
+        boolean full;
+
+        synchronized (lock) {
+            if (flusher == null || stopped) {
+                return false;
+            }
+            position = softDeleteLog.append(delete);
+            pending.add(delete);
+            full = pending.size() >= batchSize;
+        }
+
+        softDeleteLog.sync(position);
+
+        if (full) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Stopping after the append; the final flush in stop() applies it.
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Anything escaping a scheduled run would cancel every later one, so failures are logged and left for the next flush.
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush failed, retrying on the next one", e);
+        }
+    }
+
+    void flush() {
+        List<SoftDelete> batch;
+        List<Path> segments;
+
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                segments = softDeleteLog.seal();
+            } catch (UncheckedIOException e) {
+                log.warn("Could not seal the write-behind log, keeping {} soft deletes queued", pending.size(), e);
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+
+        List<SoftDelete> retry = new ArrayList<>();
+        List<SoftDelete> deadLetters = new ArrayList<>();
+        boolean unavailable = false;
+
+        for (List<SoftDelete> unit : units(batch)) {
+            if (unavailable) {
+                retry.addAll(unit);
+                continue;
+            }
+
+            try {
+                apply(unit);
+                unit.forEach(failures::remove);
+            } catch (RuntimeException e) {
+                if (isUnavailable(e)) {
+                    log.warn("Database unavailable, retrying {} soft deletes on the next flush", batch.size(), e);
+                    unavailable = true;
+                    retry.addAll(unit);
+                    continue;
+                }
+
+                log.warn("Could not apply {} soft deletes, retrying them one by one", unit.size(), e);
+                for (SoftDelete delete : unit) {
+                    if (failures.merge(delete, 1, Integer::sum) >= maxAttempts) {
+                        failures.remove(delete);
+                        deadLetters.add(delete);
+                    } else {
+                        retry.add(delete);
+                    }
+                }
+            }
+        }
+
+        if (!deadLetters.isEmpty()) {
+            log.error("Moving {} soft deletes to the dead-letter log after {} attempts", deadLetters.size(), maxAttempts);
+            softDeleteLog.deadLetter(deadLetters);
+        }
+
+        boolean relogged = true;
+        long position = 0;
+        int survivors = retry.size();
+        synchronized (lock) {
+            // Survivors are logged again so the sealed segments, whose other entries are committed, can go.
+            try {
+                for (SoftDelete delete : retry) {
+                    position = softDeleteLog.append(delete);
+                }
+            } catch (UncheckedIOException e) {
+                log.warn("Could not log {} soft deletes again, keeping their sealed segments", survivors, e);
+                relogged = false;
+            }
+            retry.addAll(pending);
+            pending = retry;
+        }
+        if (relogged) {
+            try {
+                softDeleteLog.sync(position);
+                softDeleteLog.delete(segments);
+            } catch (UncheckedIOException e) {
+                log.warn("Could not force {} soft deletes logged again, keeping their sealed segments", survivors, e);
+            }
+        }
+    }
+
+    /**
+     * Entries that failed before are applied on their own, so one bad entry cannot hold back the rest of its batch.
+     */
+    private List<List<SoftDelete>> units(List<SoftDelete> batch) {
+        List<List<SoftDelete>> units = new ArrayList<>();
+        List<SoftDelete> fresh = new ArrayList<>();
+
+        for (SoftDelete delete : batch) {
+            if (failures.containsKey(delete)) {
+                units.add(List.of(delete));
+            } else {
+                fresh.add(delete);
+            }
+        }
+        for (int from = 0; from < fresh.size(); from += batchSize) {
+            units.add(fresh.subList(from, Math.min(from + batchSize, fresh.size())));
+        }
+
+        return units;
+    }
+
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    private void apply(List<SoftDelete> deletes) {
+        Set<Long> exerciseIds = deletes.stream()
+                .filter(delete -> delete.target() == SoftDelete.Target.EXERCISE)
+                .map(SoftDelete::id)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, List<Long>> imageIds = deletes.stream()
+                .filter(delete -> delete.target() == SoftDelete.Target.IMAGE)
+                .collect(Collectors.groupingBy(SoftDelete::exerciseId, LinkedHashMap::new,
+                        Collectors.mapping(SoftDelete::id, Collectors.toList())));
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> liveExerciseIds = exerciseRepository.findAllById(exerciseIds).stream()
+                    .filter(exercise -> !Boolean.TRUE.equals(exercise.getIsDeleted()))
+                    .map(Exercise::getId)
+                    .toList();
+            if (!liveExerciseIds.isEmpty()) {
+                exerciseRepository.softDeleteAllById(liveExerciseIds, now);
+                exerciseRepository.findAllById(liveExerciseIds).forEach(exercise ->
+                        eventPublisher.publishEvent(new ExerciseChangedEvent(ExerciseChangeType.DELETED, exercise)));
+            }
+
+            Set<Long> liveImageIds = imageUrlRepository.findAllById(imageIds.values().stream().flatMap(List::stream).toList()).stream()
+                    .filter(image -> !Boolean.TRUE.equals(image.getIsDeleted()))
+                    .map(ImageUrl::getId)
+                    .collect(Collectors.toSet());
+            imageIds.values().forEach(ids -> ids.retainAll(liveImageIds));
+            imageIds.values().removeIf(List::isEmpty);
+            if (!imageIds.isEmpty()) {
+                imageUrlRepository.softDeleteAllById(liveImageIds);
+                exerciseRepository.touchAll(imageIds.keySet(), now);
+                imageIds.forEach((exerciseId, ids) ->
+                        eventPublisher.publishEvent(new ExerciseImagesChangedEvent(ExerciseChangeType.IMAGE_DELETED, exerciseId, ids)));
+            }
+        });
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.dimitarrradev.exercisesApi.exercise.service;
+
+record SoftDelete(
+        Target target,
+        Long id,
+        Long exerciseId
+) {
+
+    enum Target {
+        EXERCISE,
+        IMAGE
+    }
+
+}
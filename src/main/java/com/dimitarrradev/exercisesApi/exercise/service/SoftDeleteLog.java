@@ -0,0 +1,190 @@
+package com.dimitarrradev.exercisesApi.exercise.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only JSON lines log of the soft deletes that were acknowledged but not yet written to the database.
+ * Appends only write; {@link #sync(long)} forces the log up to a given append, and one force covers every append
+ * written before it, so concurrent writers share fsyncs. The log is split into numbered segments: sealing forces
+ * the current segment, starts a new one and hands back the older ones, which are deleted once their entries are committed.
+ * A torn last line left by a crash is skipped on recovery. Entries that could not be applied are moved to a
+ * separate dead-letter file, which is never replayed and is left for an operator to inspect.
+ */
+@Slf4j
+class SoftDeleteLog {
+
+    private static final String PREFIX = "soft-deletes-";
+    private static final String SUFFIX = ".log";
+    private static final String DEAD_LETTER = "dead-letter";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    // Orders forces against rolling the active segment; taken after the writer's lock, never before it.
+    private final Object syncLock = new Object();
+
+    private FileChannel active;
+    private Path activePath;
+    private long sequence;
+    private volatile long written;
+    private volatile long synced;
+
+    SoftDeleteLog(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    List<SoftDelete> open() throws IOException {
+        Files.createDirectories(directory);
+
+        List<SoftDelete> entries = new ArrayList<>();
+        List<Path> segments = segments();
+        for (Path segment : segments) {
+            entries.addAll(read(segment));
+        }
+
+        sequence = segments.isEmpty() ? 0 : sequenceOf(segments.getLast());
+        roll();
+
+        return entries;
+    }
+
+    /**
+     * Callers serialize appends. Returns the position to pass to {@link #sync(long)} before acknowledging the entry.
+     */
+    long append(SoftDelete delete) {
+        try {
+            write(active, delete);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return ++written;
+    }
+
+    void sync(long position) {
+        if (synced >= position) {
+            return;
+        }
+
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return;
+            }
+
+            long upTo = written;
+            try {
+                active.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            synced = upTo;
+        }
+    }
+
+    void deadLetter(List<SoftDelete> deletes) {
+        try {
+            Path deadLetters = Files.createDirectories(directory.resolve(DEAD_LETTER)).resolve(PREFIX + DEAD_LETTER + SUFFIX);
+            try (FileChannel channel = FileChannel.open(deadLetters, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                for (SoftDelete delete : deletes) {
+                    write(channel, delete);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            log.error("Could not write {} soft deletes to the dead-letter log: {}", deletes.size(), deletes, e);
+        }
+    }
+
+    List<Path> seal() {
+        try {
+            roll();
+
+            return segments().stream()
+                    .filter(segment -> !segment.equals(activePath))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("Could not delete write-behind log segment {}", segment, e);
+            }
+        }
+    }
+
+    void close() throws IOException {
+        synchronized (syncLock) {
+            if (active != null && active.isOpen()) {
+                active.force(false);
+                active.close();
+            }
+            synced = written;
+        }
+    }
+
+    private void roll() throws IOException {
+        close();
+        activePath = directory.resolve(PREFIX + String.format("%020d", ++sequence) + SUFFIX);
+        active = FileChannel.open(activePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void write(FileChannel channel, SoftDelete delete) throws IOException {
+        byte[] line = objectMapper.writeValueAsBytes(delete);
+        ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().startsWith(PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private List<SoftDelete> read(Path segment) throws IOException {
+        List<SoftDelete> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(segment)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                entries.add(objectMapper.readValue(line, SoftDelete.class));
+            } catch (IOException e) {
+                log.warn("Skipping unreadable line in write-behind log segment {}", segment);
+            }
+        }
+
+        return entries;
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.dimitarrradev.exercisesApi.exercise.stream;
+
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseImagesChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExercisesAddedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseMutation;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseResync;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseChangeToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed exercise mutations to server-sent event subscribers. Every subscriber gets its own
+ * bounded queue drained by a virtual thread, so a slow client never holds up a commit: when its queue
+ * fills up the backlog is dropped and replaced by a {@code resync} event pointing at the change feed.
+ * The last mutations are kept in a ring buffer, letting a reconnecting client resume from its
+ * {@code Last-Event-ID}; an id that is no longer buffered, or belongs to an earlier run, also gets a resync.
+ * Replayed events are sent ahead of the queue rather than through it, so a resume never overflows on its own backlog.
+ * An overflow resync carries a change feed token from before the oldest dropped event, minus the feed's settle window.
+ */
+@Slf4j
+@Component
+public class ExerciseEventStream {
+
+    static final String RESYNC = "resync";
+    static final String CHANGES_PATH = "/api/exercises/changes";
+
+    private final long epoch = System.currentTimeMillis();
+    private final Deque<StreamEvent> history = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int replaySize;
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final Duration settleWindow;
+    private final Counter dropped;
+    private final Clock clock;
+    private long sequence;
+
+    public ExerciseEventStream(
+            @Value("${exercises.stream.replay-size:1024}") int replaySize,
+            @Value("${exercises.stream.buffer-size:256}") int bufferSize,
+            @Value("${exercises.stream.heartbeat:15s}") Duration heartbeat,
+            @Value("${exercises.stream.timeout:30m}") Duration timeout,
+            @Value("${exercises.changes.settle-window:2s}") Duration settleWindow,
+            MeterRegistry meterRegistry,
+            Clock clock
+    ) {
+        this.replaySize = replaySize;
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.settleWindow = settleWindow;
+        this.clock = clock;
+        this.dropped = Counter.builder("exercises.stream.dropped")
+                .description("Exercise stream backlogs dropped because a subscriber fell behind")
+                .register(meterRegistry);
+        Gauge.builder("exercises.stream.subscribers", subscribers, Set::size)
+                .description("Open exercise stream subscriptions")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<StreamEvent> replay = replayAfter(lastEventId);
+                if (replay == null) {
+                    subscriber.resync("unknown-event-id", null);
+                } else {
+                    subscriber.replay.addAll(replay);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.start();
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExerciseChanged(ExerciseChangedEvent event) {
+        publish(new ExerciseMutation(event.type(), event.exercise().getId(), null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExerciseImagesChanged(ExerciseImagesChangedEvent event) {
+        publish(new ExerciseMutation(event.type(), event.exerciseId(), event.imageIds()));
+    }
+
+    /**
+     * Subscribers still get one {@code ADDED} event per exercise, published together under one lock.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onExercisesAdded(ExercisesAddedEvent event) {
+        event.exercises().forEach(exercise -> publish(new ExerciseMutation(ExerciseChangeType.ADDED, exercise.getId(), null)));
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private synchronized void publish(ExerciseMutation mutation) {
+        StreamEvent event = new StreamEvent(epoch + "-" + ++sequence, mutation.type().name(), mutation, LocalDateTime.now(clock));
+
+        history.addLast(event);
+        if (history.size() > replaySize) {
+            history.removeFirst();
+        }
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    private List<StreamEvent> replayAfter(String lastEventId) {
+        long after;
+        try {
+            int separator = lastEventId.indexOf('-');
+            if (separator < 0 || Long.parseLong(lastEventId.substring(0, separator)) != epoch) {
+                return null;
+            }
+            after = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+
+        long oldest = sequence - history.size() + 1;
+        if (after < oldest - 1 || after > sequence) {
+            return null;
+        }
+
+        return history.stream()
+                .skip(after - oldest + 1)
+                .toList();
+    }
+
+    /**
+     * {@code at} is when a mutation was published or, for a resync, the time its change feed token was taken from.
+     */
+    private record StreamEvent(
+            String id,
+            String name,
+            Object data,
+            LocalDateTime at
+    ) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            SseEmitter.SseEventBuilder builder = id == null ? SseEmitter.event() : SseEmitter.event().id(id);
+            return builder.name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue = new ArrayBlockingQueue<>(bufferSize + 1);
+        private final Deque<StreamEvent> replay = new ArrayDeque<>();
+        private volatile boolean closed;
+        private Thread drainer;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(StreamEvent event) {
+            if (queue.size() >= bufferSize || !queue.offer(event)) {
+                LocalDateTime from = event.at();
+                for (StreamEvent queued : queue) {
+                    if (queued.at() != null && queued.at().isBefore(from)) {
+                        from = queued.at();
+                    }
+                }
+                queue.clear();
+                dropped.increment();
+                resync("overflow", from);
+            }
+        }
+
+        private void resync(String reason, LocalDateTime from) {
+            String since = from == null ? null : new ExerciseChangeToken(from.minus(settleWindow), 0L).encode();
+            queue.offer(new StreamEvent(null, RESYNC, new ExerciseResync(reason, CHANGES_PATH, since), from));
+        }
+
+        private void start() {
+            drainer = Thread.ofVirtual().name("exercise-stream").start(this::drain);
+        }
+
+        private void drain() {
+            try {
+                while (!closed && !replay.isEmpty()) {
+                    emitter.send(replay.removeFirst().toSse());
+                }
+                while (!closed) {
+                    StreamEvent event = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    emitter.send(event == null ? SseEmitter.event().comment("heartbeat") : event.toSse());
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException exception) {
+                log.debug("Exercise stream subscriber disconnected: {}", exception.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            if (drainer != null && drainer != Thread.currentThread()) {
+                drainer.interrupt();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.dimitarrradev.exercisesApi.exercise.util;
+
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseGroupsModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.server.RepresentationModelProcessor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ExerciseGroupsModelProcessor implements RepresentationModelProcessor<ExerciseGroupsModel> {
+
+    private final ExerciseModelProcessor exerciseModelProcessor;
+
+    @Override
+    public ExerciseGroupsModel process(ExerciseGroupsModel model) {
+        model.getGroups().values().forEach(exercises -> exercises.forEach(exerciseModelProcessor::process));
+
+        return model;
+    }
+
+}
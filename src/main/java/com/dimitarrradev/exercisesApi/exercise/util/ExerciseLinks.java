@@ -0,0 +1,164 @@
+package com.dimitarrradev.exercisesApi.exercise.util;
+
+import com.dimitarrradev.exercisesApi.controller.ExerciseController;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the exercise and image links from URI templates read once from the {@link ExerciseController}
+ * mappings, so a link is a string concatenation instead of a {@code methodOn} proxy invocation and a
+ * template expansion. The base URI is resolved once per request.
+ */
+@Component
+public class ExerciseLinks {
+
+    private static final String BASE_URI_ATTRIBUTE = ExerciseLinks.class.getName() + ".baseUri";
+    private static final String SUPPRESSED_ATTRIBUTE = ExerciseLinks.class.getName() + ".suppressed";
+    private static final Pattern VARIABLE = Pattern.compile("\\{[^}]+}");
+
+    private final LinkTemplate exercise = template("getExercise");
+    private final LinkTemplate editExercise = template("editExercise");
+    private final LinkTemplate deleteExercise = template("deleteExercise");
+    private final LinkTemplate images = template("getImages");
+    private final LinkTemplate image = template("getImage");
+    private final LinkTemplate deleteImage = template("deleteImage");
+
+    public Link exercise(Long id) {
+        return Link.of(exercise.expand(baseUri(), id));
+    }
+
+    public Link editExercise(Long id) {
+        return Link.of(editExercise.expand(baseUri(), id));
+    }
+
+    public Link deleteExercise(Long id) {
+        return Link.of(deleteExercise.expand(baseUri(), id));
+    }
+
+    public Link images(Long exerciseId) {
+        return Link.of(images.expand(baseUri(), exerciseId));
+    }
+
+    public Link image(Long exerciseId, Long imageId) {
+        return Link.of(image.expand(baseUri(), exerciseId, imageId));
+    }
+
+    public Link deleteImage(Long exerciseId, Long imageId) {
+        return Link.of(deleteImage.expand(baseUri(), exerciseId, imageId));
+    }
+
+    public void suppress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(SUPPRESSED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public boolean isSuppressed() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        return attributes != null && attributes.getAttribute(SUPPRESSED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    public Map<String, String> exerciseTemplates() {
+        String baseUri = baseUri();
+        Map<String, String> templates = new LinkedHashMap<>();
+        templates.put("self", exercise.template(baseUri));
+        templates.put("update", editExercise.template(baseUri));
+        templates.put("delete", deleteExercise.template(baseUri));
+        templates.put("images", images.template(baseUri));
+
+        return templates;
+    }
+
+    public Map<String, String> imageTemplates() {
+        String baseUri = baseUri();
+        Map<String, String> templates = new LinkedHashMap<>();
+        templates.put("self", image.template(baseUri));
+        templates.put("delete", deleteImage.template(baseUri));
+        templates.put("exercise", exercise.template(baseUri));
+
+        return templates;
+    }
+
+    private static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "";
+        }
+
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return baseUri;
+    }
+
+    private static LinkTemplate template(String methodName) {
+        List<Method> methods = Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(ExerciseController.class))
+                .filter(method -> method.getName().equals(methodName))
+                .toList();
+        if (methods.size() != 1) {
+            throw new IllegalStateException("Expected one ExerciseController method " + methodName + ", found " + methods.size());
+        }
+
+        Method method = methods.getFirst();
+
+        RequestMapping type = AnnotatedElementUtils.findMergedAnnotation(ExerciseController.class, RequestMapping.class);
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+
+        return LinkTemplate.parse(firstPath(type) + firstPath(mapping));
+    }
+
+    private static String firstPath(RequestMapping mapping) {
+        return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+    }
+
+    private record LinkTemplate(String source, String[] literals) {
+
+        static LinkTemplate parse(String template) {
+            List<String> literals = new ArrayList<>();
+            Matcher matcher = VARIABLE.matcher(template);
+            int start = 0;
+            while (matcher.find()) {
+                literals.add(template.substring(start, matcher.start()));
+                start = matcher.end();
+            }
+            literals.add(template.substring(start));
+
+            return new LinkTemplate(template, literals.toArray(String[]::new));
+        }
+
+        String template(String baseUri) {
+            return baseUri + source;
+        }
+
+        String expand(String baseUri, Object... values) {
+            StringBuilder href = new StringBuilder(baseUri.length() + 48).append(baseUri).append(literals[0]);
+            for (int i = 1; i < literals.length; i++) {
+                href.append(values[i - 1]).append(literals[i]);
+            }
+
+            return href.toString();
+        }
+
+    }
+
+}
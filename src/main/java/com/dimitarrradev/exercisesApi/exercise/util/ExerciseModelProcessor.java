@@ -1,24 +1,32 @@
 package com.dimitarrradev.exercisesApi.exercise.util;
 
-import com.dimitarrradev.exercisesApi.controller.ExerciseController;
 import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
+import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
+@RequiredArgsConstructor
 public class ExerciseModelProcessor implements RepresentationModelProcessor<ExerciseModel> {
 
+    private final ExerciseLinks exerciseLinks;
+    private final ImageUrlModelProcessor imageUrlModelProcessor;
+
     @Override
     public ExerciseModel process(ExerciseModel model) {
-        model.add(linkTo(methodOn(ExerciseController.class).getExercise(model.getId())).withSelfRel());
-        model.add(linkTo(methodOn(ExerciseController.class).editExercise(model.getId(), null, null)).withRel("update"));
-        if (!model.getIsDeleted()) {
-            model.add(linkTo(methodOn(ExerciseController.class).deleteExercise(model.getId())).withRel("delete"));
+        if (exerciseLinks.isSuppressed()) {
+            return model;
+        }
+
+        model.add(exerciseLinks.exercise(model.getId()).withSelfRel());
+        model.add(exerciseLinks.editExercise(model.getId()).withRel("update"));
+        if (!Boolean.TRUE.equals(model.getIsDeleted())) {
+            model.add(exerciseLinks.deleteExercise(model.getId()).withRel("delete"));
+        }
+        model.add(exerciseLinks.images(model.getId()).withRel("images"));
+        if (model.getImages() != null) {
+            model.getImages().forEach(imageUrlModelProcessor::process);
         }
-        model.add(linkTo(methodOn(ExerciseController.class).getImages(model.getId())).withRel("images"));
 
         return model;
     }
@@ -1,18 +1,18 @@
 package com.dimitarrradev.exercisesApi.exercise.util;
 
 
-import com.dimitarrradev.exercisesApi.exercise.model.ImageUrl;
 import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
 @Component
-public class ImageUrlModelAssembler implements RepresentationModelAssembler<ImageUrl, ImageUrlModel> {
+public class ImageUrlModelAssembler implements RepresentationModelAssembler<ImageUrlView, ImageUrlModel> {
 
     @Override
-    public ImageUrlModel toModel(ImageUrl imageUrl) {
+    public ImageUrlModel toModel(ImageUrlView imageUrl) {
 
-        return new ImageUrlModel(imageUrl.getId(), imageUrl.getUrl(), imageUrl.getExercise().getId(), imageUrl.getIsDeleted());
+        return new ImageUrlModel(imageUrl.id(), imageUrl.url(), imageUrl.exerciseId(), imageUrl.isDeleted());
     }
 
 }
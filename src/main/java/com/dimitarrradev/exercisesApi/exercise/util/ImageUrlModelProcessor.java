@@ -1,23 +1,27 @@
 package com.dimitarrradev.exercisesApi.exercise.util;
 
 import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlModel;
-import com.dimitarrradev.exercisesApi.controller.ExerciseController;
+import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Component
+@RequiredArgsConstructor
 public class ImageUrlModelProcessor implements RepresentationModelProcessor<ImageUrlModel> {
 
+    private final ExerciseLinks exerciseLinks;
+
     @Override
     public ImageUrlModel process(ImageUrlModel model) {
+        if (exerciseLinks.isSuppressed()) {
+            return model;
+        }
+
         if (!model.getIsDeleted()) {
-            model.add(linkTo(methodOn(ExerciseController.class).getImage(model.getExerciseId(), model.getId())).withRel("self"));
-            model.add(linkTo(methodOn(ExerciseController.class).deleteImage(model.getExerciseId(), model.getId())).withRel("delete"));
+            model.add(exerciseLinks.image(model.getExerciseId(), model.getId()).withRel("self"));
+            model.add(exerciseLinks.deleteImage(model.getExerciseId(), model.getId()).withRel("delete"));
         }
-        model.add(linkTo(methodOn(ExerciseController.class).getExercise(model.getExerciseId())).withRel("exercise"));
+        model.add(exerciseLinks.exercise(model.getExerciseId()).withRel("exercise"));
         return model;
     }
 
@@ -0,0 +1,223 @@
+package com.dimitarrradev.exercisesApi.web;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseBatchModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlModel;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseLinks;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Writes exercise and image collections as CBOR laid out in columns: every field is one array over
+ * the whole page, enums go out as ordinals with their names listed once under {@code enums}, and the
+ * per-item links are replaced by one set of URI templates. Selected with
+ * {@code Accept: application/vnd.exercises.columnar+cbor}; HAL stays the default.
+ */
+public class ExerciseColumnarMessageConverter extends AbstractGenericHttpMessageConverter<CollectionModel<?>> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.exercises.columnar+cbor";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    public static final int SCHEMA_VERSION = 1;
+
+    private final ExerciseLinks exerciseLinks;
+    private final CBORFactory factory = CBORFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    public ExerciseColumnarMessageConverter(ExerciseLinks exerciseLinks) {
+        super(MEDIA_TYPE);
+        this.exerciseLinks = exerciseLinks;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CollectionModel.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!canWrite(clazz, mediaType)) {
+            return false;
+        }
+
+        Class<?> element = ResolvableType.forType(type != null ? type : clazz)
+                .as(CollectionModel.class)
+                .getGeneric(0)
+                .resolve();
+
+        return ExerciseModel.class.equals(element) || ImageUrlModel.class.equals(element);
+    }
+
+    @Override
+    protected void writeInternal(CollectionModel<?> model, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(outputMessage.getBody())) {
+            List<?> content = new ArrayList<>(model.getContent());
+            boolean images = !content.isEmpty() ? content.getFirst() instanceof ImageUrlModel : isImages(type);
+
+            generator.writeStartObject();
+            generator.writeNumberField("schema", SCHEMA_VERSION);
+            generator.writeStringField("kind", images ? "image" : "exercise");
+            generator.writeNumberField("count", content.size());
+            writePage(generator, model);
+            if (model instanceof ExerciseBatchModel batch) {
+                writeColumn(generator, "missing", batch.getMissing(), Function.identity());
+            }
+            writeLinks(generator, model.getLinks().toList());
+
+            if (images) {
+                writeTemplates(generator, exerciseLinks.imageTemplates());
+                writeImageColumns(generator, cast(content));
+            } else {
+                writeTemplates(generator, exerciseLinks.exerciseTemplates());
+                writeEnums(generator);
+                writeExerciseColumns(generator, cast(content));
+            }
+
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    protected CollectionModel<?> readInternal(Class<? extends CollectionModel<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar exercise collections cannot be read", inputMessage);
+    }
+
+    @Override
+    public CollectionModel<?> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar exercise collections cannot be read", inputMessage);
+    }
+
+    private void writeExerciseColumns(JsonGenerator generator, List<ExerciseModel> exercises) throws IOException {
+        generator.writeObjectFieldStart("columns");
+        writeColumn(generator, "id", exercises, ExerciseModel::getId);
+        writeColumn(generator, "name", exercises, ExerciseModel::getName);
+        writeColumn(generator, "description", exercises, ExerciseModel::getDescription);
+        writeColumn(generator, "complexity", exercises, exercise -> ordinal(exercise.getComplexity()));
+        writeColumn(generator, "movementType", exercises, exercise -> ordinal(exercise.getMovementType()));
+        writeColumn(generator, "targetBodyPart", exercises, exercise -> ordinal(exercise.getTargetBodyPart()));
+        writeColumn(generator, "isDeleted", exercises, ExerciseModel::getIsDeleted);
+
+        if (exercises.stream().anyMatch(exercise -> exercise.getImages() != null)) {
+            generator.writeArrayFieldStart("images");
+            for (ExerciseModel exercise : exercises) {
+                if (exercise.getImages() == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeStartObject();
+                    writeColumn(generator, "id", exercise.getImages(), ImageUrlModel::getId);
+                    writeColumn(generator, "url", exercise.getImages(), ImageUrlModel::getUrl);
+                    generator.writeEndObject();
+                }
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeImageColumns(JsonGenerator generator, List<ImageUrlModel> images) throws IOException {
+        generator.writeObjectFieldStart("columns");
+        writeColumn(generator, "id", images, ImageUrlModel::getId);
+        writeColumn(generator, "url", images, ImageUrlModel::getUrl);
+        writeColumn(generator, "exerciseId", images, ImageUrlModel::getExerciseId);
+        writeColumn(generator, "isDeleted", images, ImageUrlModel::getIsDeleted);
+        generator.writeEndObject();
+    }
+
+    private static void writePage(JsonGenerator generator, CollectionModel<?> model) throws IOException {
+        if (!(model instanceof PagedModel<?> paged) || paged.getMetadata() == null) {
+            return;
+        }
+
+        PagedModel.PageMetadata page = paged.getMetadata();
+        generator.writeObjectFieldStart("page");
+        generator.writeNumberField("size", page.getSize());
+        generator.writeNumberField("number", page.getNumber());
+        generator.writeNumberField("totalElements", page.getTotalElements());
+        generator.writeNumberField("totalPages", page.getTotalPages());
+        generator.writeEndObject();
+    }
+
+    private static void writeLinks(JsonGenerator generator, List<Link> links) throws IOException {
+        generator.writeObjectFieldStart("links");
+        for (Link link : links) {
+            generator.writeStringField(link.getRel().value(), link.getHref());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeTemplates(JsonGenerator generator, Map<String, String> templates) throws IOException {
+        generator.writeObjectFieldStart("templates");
+        for (Map.Entry<String, String> template : templates.entrySet()) {
+            generator.writeStringField(template.getKey(), template.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeEnums(JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("enums");
+        writeColumn(generator, "complexity", List.of(Complexity.values()), Enum::name);
+        writeColumn(generator, "movementType", List.of(MovementType.values()), Enum::name);
+        writeColumn(generator, "targetBodyPart", List.of(TargetBodyPart.values()), Enum::name);
+        generator.writeEndObject();
+    }
+
+    private static <T> void writeColumn(JsonGenerator generator, String name, Collection<T> rows, Function<T, ?> value) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (T row : rows) {
+            switch (value.apply(row)) {
+                case null -> generator.writeNull();
+                case Long number -> generator.writeNumber(number);
+                case Integer number -> generator.writeNumber(number);
+                case Boolean bool -> generator.writeBoolean(bool);
+                case Object other -> generator.writeString(other.toString());
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private static Integer ordinal(Enum<?> value) {
+        return value == null ? null : value.ordinal();
+    }
+
+    private static boolean isImages(@Nullable Type type) {
+        return type != null && ImageUrlModel.class.equals(ResolvableType.forType(type).as(CollectionModel.class).getGeneric(0).resolve());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> cast(List<?> content) {
+        return (List<T>) content;
+    }
+
+}
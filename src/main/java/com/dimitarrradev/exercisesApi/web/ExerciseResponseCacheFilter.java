@@ -0,0 +1,187 @@
+package com.dimitarrradev.exercisesApi.web;
+
+import com.dimitarrradev.exercisesApi.config.ReadWriteRoutingDataSource;
+import com.dimitarrradev.exercisesApi.exercise.cache.ExerciseVersions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the serialized body of exercise GET responses together with the version it was rendered for.
+ * A request whose version did not change since is answered from the stored bytes, or with a 304 when
+ * the client already holds the same ETag, without reaching the controller, the database or Jackson.
+ * A miss is rendered with every read on the primary, so a lagging replica is never stored under the new version.
+ */
+@Component
+@Order(1)
+public class ExerciseResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern EXERCISE_PATH = Pattern.compile("^/api/exercises/(\\d+)(/images(/\\d+)?)?$");
+    // Only headers known to describe the body are replayed; anything per-request, like cookies, is never stored.
+    private static final List<String> STORED_HEADERS = List.of("X-Total-Count-Strategy");
+    private static final Set<String> CATALOGUE_PATHS = Set.of("/api/exercises/search", "/api/exercises/facets", "/api/exercises/by-target", "/api/exercises/suggest");
+
+    private final ExerciseVersions exerciseVersions;
+    private final boolean enabled;
+    private final Cache<String, RenderedResponse> responses;
+
+    public ExerciseResponseCacheFilter(
+            ExerciseVersions exerciseVersions,
+            @Value("${exercises.response-cache.enabled:true}") boolean enabled,
+            @Value("${exercises.response-cache.max-bytes:33554432}") long maxBytes
+    ) {
+        this.exerciseVersions = exerciseVersions;
+        this.enabled = enabled;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, RenderedResponse response) -> key.length() + response.body().length)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !HttpMethod.GET.matches(request.getMethod()) || version(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = key(request);
+        String version = version(request);
+        String eTag = "\"" + version + "-" + Integer.toHexString(key.hashCode()) + "\"";
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        if (matches(ifNoneMatch, eTag, false)) {
+            notModified(response, eTag);
+            return;
+        }
+
+        RenderedResponse rendered = responses.getIfPresent(key);
+        if (rendered != null && rendered.eTag().equals(eTag)) {
+            if (matches(ifNoneMatch, eTag, true)) {
+                notModified(response, eTag);
+                return;
+            }
+
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(rendered.contentType());
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            rendered.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            response.setContentLength(rendered.body().length);
+            response.getOutputStream().write(rendered.body());
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+            filterChain.doFilter(request, wrapper);
+        }
+
+        // A write committed while rendering may or may not be in the body, so it is neither stored nor tagged.
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && version.equals(version(request))) {
+            responses.put(key, new RenderedResponse(eTag, wrapper.getContentType(), headers(wrapper), wrapper.getContentAsByteArray()));
+
+            if (matches(ifNoneMatch, eTag, true)) {
+                notModified(response, eTag);
+                return;
+            }
+
+            wrapper.setHeader(HttpHeaders.ETAG, eTag);
+        }
+
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Weak comparison against each entity tag in an {@code If-None-Match} list. The {@code *} wildcard
+     * only matches once the resource is known to exist, that is when a current rendering is at hand.
+     */
+    private static boolean matches(String ifNoneMatch, String eTag, boolean exists) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*")) {
+                if (exists) {
+                    return true;
+                }
+            } else if (opaque(tag).equals(opaque(eTag))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static void notModified(HttpServletResponse response, String eTag) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+    }
+
+    private String version(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        if (CATALOGUE_PATHS.contains(path)) {
+            return exerciseVersions.catalogueVersion();
+        }
+
+        Matcher matcher = EXERCISE_PATH.matcher(path);
+        if (matcher.matches()) {
+            return exerciseVersions.exerciseVersion(Long.valueOf(matcher.group(1)));
+        }
+
+        return null;
+    }
+
+    private static String key(HttpServletRequest request) {
+        return request.getRequestURL()
+                + "?" + request.getQueryString()
+                + "|" + request.getHeader(HttpHeaders.ACCEPT);
+    }
+
+    private static Map<String, List<String>> headers(HttpServletResponse response) {
+        Map<String, List<String>> headers = new HashMap<>();
+        for (String name : STORED_HEADERS) {
+            Collection<String> values = response.getHeaders(name);
+            if (!values.isEmpty()) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+
+        return headers;
+    }
+
+    private record RenderedResponse(
+            String eTag,
+            String contentType,
+            Map<String, List<String>> headers,
+            byte[] body
+    ) {
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.dimitarrradev.exercisesApi.web;
+
+import com.dimitarrradev.exercisesApi.error.model.ExceptionModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most as many API requests as there are pooled JDBC connections. With requests running on
+ * virtual threads the rest wait here on a fair semaphore, which costs nothing while parked, instead
+ * of piling up inside Hikari and timing out there. Requests that wait longer than the configured
+ * limit are turned away with a 503. Requests that go async keep their permit until the async request
+ * completes, errors or times out. The event stream is left ungated, as it holds a connection open for
+ * a long time without using JDBC, and so is the export, which reads through its own pool.
+ */
+@Component
+@Order(2)
+public class JdbcAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Set<String> UNGATED_PATHS = Set.of("/api/exercises/stream", "/api/exercises/export");
+
+    private final Semaphore permits;
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final ObjectMapper objectMapper;
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public JdbcAdmissionFilter(
+            @Value("${exercises.admission.enabled:true}") boolean enabled,
+            @Value("${exercises.admission.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${exercises.admission.max-wait:2s}") Duration maxWait,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.permits = new Semaphore(permits, true);
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+        this.objectMapper = objectMapper;
+        this.waitTimer = Timer.builder("exercises.admission.wait")
+                .description("Time API requests waited for a JDBC admission permit")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("exercises.admission.rejected")
+                .description("API requests rejected after waiting for a JDBC admission permit")
+                .register(meterRegistry);
+        Gauge.builder("exercises.admission.queued", this.permits, Semaphore::getQueueLength)
+                .description("API requests waiting for a JDBC admission permit")
+                .register(meterRegistry);
+        Gauge.builder("exercises.admission.available", this.permits, Semaphore::availablePermits)
+                .description("Free JDBC admission permits")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !path.startsWith("/api/") || UNGATED_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!admitted) {
+            rejections.increment();
+            reject(response);
+            return;
+        }
+
+        Permit permit = new Permit();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, maxWait.toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ExceptionModel(
+                "ServiceUnavailableException",
+                "Too many concurrent requests, try again later!"
+        ));
+    }
+
+    /**
+     * Releases a permit exactly once, whichever of the async callbacks arrives first. The container
+     * defers completion until the initial dispatch returns, so registering after the chain is safe.
+     */
+    private class Permit implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+    }
+
+}
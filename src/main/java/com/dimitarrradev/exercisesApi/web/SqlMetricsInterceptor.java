@@ -0,0 +1,62 @@
+package com.dimitarrradev.exercisesApi.web;
+
+import com.dimitarrradev.exercisesApi.controller.ExerciseController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many SQL statements every {@link ExerciseController} handler ran and how long JDBC took for them,
+ * tagged by handler method, as {@code exercises.sql.statements} and {@code exercises.sql.time}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlMetricsInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isExerciseHandler(handler)) {
+            request.setAttribute(SqlStatements.ATTRIBUTE, new SqlStatements());
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlStatements statements = (SqlStatements) request.getAttribute(SqlStatements.ATTRIBUTE);
+        if (statements == null || !isExerciseHandler(handler)) {
+            return;
+        }
+
+        String method = ((HandlerMethod) handler).getMethod().getName();
+
+        DistributionSummary.builder("exercises.sql.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("handler", method)
+                .register(meterRegistry)
+                .record(statements.getCount());
+        Timer.builder("exercises.sql.time")
+                .description("JDBC execution time per request")
+                .tag("handler", method)
+                .register(meterRegistry)
+                .record(statements.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean isExerciseHandler(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod
+                && handlerMethod.getBeanType().equals(ExerciseController.class);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.dimitarrradev.exercisesApi.web;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate creates one of these per session. Every executed statement or batch is added to the
+ * {@link SqlStatements} of the request running on the current thread, if there is one.
+ */
+public class SqlStatementListener extends BaseSessionEventListener {
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlStatements statements = SqlStatements.current();
+        if (statements != null) {
+            statements.record(System.nanoTime() - start);
+        }
+    }
+
+}
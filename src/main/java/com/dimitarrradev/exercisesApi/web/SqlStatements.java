@@ -0,0 +1,36 @@
+package com.dimitarrradev.exercisesApi.web;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Number of SQL statements and the JDBC time spent on them for the current request.
+ * Bound as a request attribute by {@link SqlMetricsInterceptor} and filled in by {@link SqlStatementListener}.
+ */
+public class SqlStatements {
+
+    static final String ATTRIBUTE = SqlStatements.class.getName();
+
+    private int count;
+    private long nanos;
+
+    static SqlStatements current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        return attributes == null ? null : (SqlStatements) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    void record(long nanos) {
+        this.count++;
+        this.nanos += nanos;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.dimitarrradev.exercisesApi.benchmark;
+
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseLinks;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseModelAssembler;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseModelProcessor;
+import com.dimitarrradev.exercisesApi.exercise.util.ImageUrlModelProcessor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.CollectionModel;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to model conversion of one search page, alone and followed by the link processor the way
+ * the HATEOAS return value handler runs it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssemblerBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ExerciseModelAssembler assembler;
+    private ExerciseModelProcessor processor;
+    private List<Exercise> page;
+
+    @Setup
+    public void setup() {
+        assembler = new ExerciseModelAssembler();
+        processor = new ExerciseModelProcessor(new ExerciseLinks(), new ImageUrlModelProcessor(new ExerciseLinks()));
+        page = BenchmarkData.exercises(pageSize);
+        BenchmarkData.bindRequest("/api/exercises/search");
+    }
+
+    @Benchmark
+    public ExerciseModel toModel() {
+        return assembler.toModel(page.getFirst());
+    }
+
+    @Benchmark
+    public CollectionModel<ExerciseModel> toCollectionModel() {
+        return assembler.toCollectionModel(page);
+    }
+
+    @Benchmark
+    public CollectionModel<ExerciseModel> toCollectionModelWithLinks() {
+        CollectionModel<ExerciseModel> models = assembler.toCollectionModel(page);
+        models.forEach(processor::process);
+
+        return models;
+    }
+
+}
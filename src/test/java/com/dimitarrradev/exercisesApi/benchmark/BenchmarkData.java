@@ -0,0 +1,55 @@
+package com.dimitarrradev.exercisesApi.benchmark;
+
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class BenchmarkData {
+
+    static final Complexity[] COMPLEXITIES = {Complexity.EASY, Complexity.MEDIUM, Complexity.HARD};
+    static final MovementType[] MOVEMENTS = {MovementType.COMPOUND, MovementType.ISOLATION};
+    static final TargetBodyPart[] TARGETS = Arrays.stream(TargetBodyPart.values())
+            .filter(target -> target != TargetBodyPart.ALL)
+            .toArray(TargetBodyPart[]::new);
+
+    private BenchmarkData() {
+    }
+
+    static List<Exercise> exercises(int count) {
+        return exercises(0, count);
+    }
+
+    static List<Exercise> exercises(int from, int count) {
+        List<Exercise> exercises = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            exercises.add(Exercise.builder()
+                    .id(i + 1L)
+                    .name(name(i))
+                    .description("benchmark exercise description " + i)
+                    .complexity(COMPLEXITIES[i % COMPLEXITIES.length])
+                    .targetBodyPart(TARGETS[i % TARGETS.length])
+                    .movementType(MOVEMENTS[i % MOVEMENTS.length])
+                    .isDeleted(false)
+                    .build());
+        }
+
+        return exercises;
+    }
+
+    private static String name(int i) {
+        return "exercise-" + Integer.toString(i * 7919 % 1_000_003, 36) + "-" + i;
+    }
+
+    static void bindRequest(String uri) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", uri)));
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.dimitarrradev.exercisesApi.benchmark;
+
+import com.dimitarrradev.exercisesApi.controller.ExerciseController;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseLinks;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseModelProcessor;
+import com.dimitarrradev.exercisesApi.exercise.util.ImageUrlModelProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Cost of adding the four exercise links to one model, with the proxy based builder the processor
+ * used before and with the precompiled templates. A new request is bound per invocation so the
+ * per-request base URI lookup is part of both measurements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkBuildingBenchmark {
+
+    private ExerciseModelProcessor processor;
+
+    @Setup
+    public void setup() {
+        processor = new ExerciseModelProcessor(new ExerciseLinks(), new ImageUrlModelProcessor(new ExerciseLinks()));
+    }
+
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        BenchmarkData.bindRequest("/api/exercises/search");
+    }
+
+    @Benchmark
+    public ExerciseModel methodOnLinks() {
+        ExerciseModel model = model();
+        model.add(linkTo(methodOn(ExerciseController.class).getExercise(model.getId(), null)).withSelfRel());
+        model.add(linkTo(methodOn(ExerciseController.class).editExercise(model.getId(), null, null)).withRel("update"));
+        model.add(linkTo(methodOn(ExerciseController.class).deleteExercise(model.getId())).withRel("delete"));
+        model.add(linkTo(methodOn(ExerciseController.class).getImages(model.getId())).withRel("images"));
+
+        return model;
+    }
+
+    @Benchmark
+    public ExerciseModel templateLinks() {
+        return processor.process(model());
+    }
+
+    private static ExerciseModel model() {
+        return ExerciseModel.builder().id(42L).name("exercise").isDeleted(false).build();
+    }
+
+}
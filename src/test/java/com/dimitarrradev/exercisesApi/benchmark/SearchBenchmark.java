@@ -0,0 +1,107 @@
+package com.dimitarrradev.exercisesApi.benchmark;
+
+import com.dimitarrradev.exercisesApi.ExercisesServiceApplication;
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchIndex;
+import com.dimitarrradev.exercisesApi.exercise.service.ExerciseService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExerciseService#searchExercises} against an embedded H2 database holding {@code size}
+ * exercises, served by the repository query or by the in-memory search index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class SearchBenchmark {
+
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private ExerciseService exerciseService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(ExercisesServiceApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--exercises.search.index.enabled=" + indexed
+                );
+
+        insert(context.getBean(JdbcTemplate.class));
+        context.getBean(ExerciseSearchIndex.class).load();
+        exerciseService = context.getBean(ExerciseService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        BenchmarkData.bindRequest("/api/exercises/search");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PagedModel<ExerciseModel> firstPageNoFilters() {
+        return exerciseService.searchExercises("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL, 0, 20, "asc");
+    }
+
+    @Benchmark
+    public PagedModel<ExerciseModel> firstPageAllFilters() {
+        return exerciseService.searchExercises("", TargetBodyPart.ABS, Complexity.HARD, MovementType.ISOLATION, 0, 20, "asc");
+    }
+
+    @Benchmark
+    public PagedModel<ExerciseModel> deepPageDescending() {
+        return exerciseService.searchExercises("", TargetBodyPart.CHEST, Complexity.ALL, MovementType.ALL, 100, 20, "desc");
+    }
+
+    @Benchmark
+    public PagedModel<ExerciseModel> nameSearch() {
+        return exerciseService.searchExercises("-4242", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL, 0, 20, "asc");
+    }
+
+    private void insert(JdbcTemplate jdbcTemplate) {
+        for (int start = 0; start < size; start += INSERT_BATCH) {
+            List<Exercise> batch = BenchmarkData.exercises(start, Math.min(INSERT_BATCH, size - start));
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO exercises (name, description, complexity, target_body_part, movement_type, is_deleted, name_key) VALUES (?, ?, ?, ?, ?, false, ?)",
+                    batch,
+                    batch.size(),
+                    (statement, exercise) -> {
+                        statement.setString(1, exercise.getName());
+                        statement.setString(2, exercise.getDescription());
+                        statement.setString(3, exercise.getComplexity().name());
+                        statement.setString(4, exercise.getTargetBodyPart().name());
+                        statement.setString(5, exercise.getMovementType().name());
+                        statement.setBytes(6, Exercise.nameKey(exercise.getName()));
+                    });
+        }
+    }
+
+}
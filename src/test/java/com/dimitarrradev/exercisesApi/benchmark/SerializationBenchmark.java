@@ -0,0 +1,68 @@
+package com.dimitarrradev.exercisesApi.benchmark;
+
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseLinks;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseModelAssembler;
+import com.dimitarrradev.exercisesApi.exercise.util.ExerciseModelProcessor;
+import com.dimitarrradev.exercisesApi.exercise.util.ImageUrlModelProcessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.HalConfiguration;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HAL serialization of a linked {@code PagedModel<ExerciseModel>} with the same Jackson module setup
+ * Spring HATEOAS registers for {@code application/hal+json}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private PagedModel<ExerciseModel> page;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY, new HalConfiguration(), new DefaultListableBeanFactory()));
+        writer = mapper.writerFor(PagedModel.class);
+
+        BenchmarkData.bindRequest("/api/exercises/search");
+        ExerciseModelProcessor processor = new ExerciseModelProcessor(new ExerciseLinks(), new ImageUrlModelProcessor(new ExerciseLinks()));
+        ExerciseModelAssembler assembler = new ExerciseModelAssembler();
+        List<ExerciseModel> models = BenchmarkData.exercises(pageSize).stream()
+                .map(assembler::toModel)
+                .map(processor::process)
+                .toList();
+
+        page = PagedModel.of(models, new PagedModel.PageMetadata(pageSize, 0, 100_000),
+                Link.of("http://localhost/api/exercises/search?page=0&size=" + pageSize).withSelfRel(),
+                Link.of("http://localhost/api/exercises/search?page=1&size=" + pageSize).withRel("next"));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+}
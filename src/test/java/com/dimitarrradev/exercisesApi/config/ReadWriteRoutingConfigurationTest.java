@@ -0,0 +1,58 @@
+package com.dimitarrradev.exercisesApi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "exercises.datasource.replica.url=jdbc:h2:mem:testdb",
+        "exercises.datasource.replica.username=sa",
+        "exercises.datasource.replica.password=password"
+})
+public class ReadWriteRoutingConfigurationTest {
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testReadOnlyTransactionsRunOnTheReplicaPool() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        int duringRead = readOnly.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM exercises", Long.class);
+            return replicaDataSource.getHikariPoolMXBean().getActiveConnections();
+        });
+        int duringWrite = readWrite.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM exercises", Long.class);
+            return replicaDataSource.getHikariPoolMXBean().getActiveConnections();
+        });
+
+        assertEquals(1, duringRead);
+        assertEquals(0, duringWrite);
+    }
+
+    @Test
+    void testReplicaWithoutLagWindowIsRejected() {
+        ReadWriteRoutingConfiguration configuration = new ReadWriteRoutingConfiguration();
+
+        assertThrows(IllegalStateException.class, () -> configuration.replicaLagGuard(Duration.ZERO));
+    }
+
+}
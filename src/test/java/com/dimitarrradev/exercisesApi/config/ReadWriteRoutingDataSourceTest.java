@@ -0,0 +1,111 @@
+package com.dimitarrradev.exercisesApi.config;
+
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setup() throws Exception {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_UNKNOWN));
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseTheReplica() throws Exception {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, new ReplicaLagGuard(Duration.ZERO));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routing.getConnection();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routing.getConnection();
+
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(1)).getConnection();
+    }
+
+    @Test
+    void testReadsPinnedToThePrimaryNeverUseTheReplica() throws Exception {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, new ReplicaLagGuard(Duration.ofSeconds(1)));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        ReadWriteRoutingDataSource.onPrimary(() -> ReadWriteRoutingDataSource.onPrimary(() -> connection(routing)));
+        routing.getConnection();
+
+        verify(primary, times(1)).getConnection();
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void testTransactionOnTheReplicaIsMarkedUntilItCompletes() throws Exception {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, new ReplicaLagGuard(Duration.ZERO));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+            routing.getConnection();
+        }
+        assertFalse(ReadWriteRoutingDataSource.isTransactionOnReplica());
+
+        routing.getConnection();
+        assertTrue(ReadWriteRoutingDataSource.isTransactionOnReplica());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertFalse(ReadWriteRoutingDataSource.isTransactionOnReplica());
+
+        verify(primary, times(1)).getConnection();
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void testReadsStayOnThePrimaryWithinTheLagWindowAfterAWrite() throws Exception {
+        ReplicaLagGuard lagGuard = new ReplicaLagGuard(Duration.ofHours(1));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, lagGuard);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.getConnection();
+        lagGuard.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, Exercise.builder().id(1L).build()));
+        routing.getConnection();
+
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(1)).getConnection();
+    }
+
+    private static Connection connection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -2,16 +2,24 @@ package com.dimitarrradev.exercisesApi.controller;
 
 import com.dimitarrradev.exercisesApi.controller.binding.ExerciseAddModel;
 import com.dimitarrradev.exercisesApi.controller.binding.ExerciseEditModel;
+import com.dimitarrradev.exercisesApi.controller.binding.ExerciseIdsModel;
 import com.dimitarrradev.exercisesApi.controller.binding.ImageUrlsAddModel;
 import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
 import com.dimitarrradev.exercisesApi.exercise.dao.ImageUrlRepository;
 import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.ExerciseExportFormat;
 import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
 import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
 import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
 import com.dimitarrradev.exercisesApi.exercise.model.ImageUrl;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
+import com.dimitarrradev.exercisesApi.exercise.service.ExerciseExportService;
 import com.dimitarrradev.exercisesApi.exercise.service.ExerciseService;
+import com.dimitarrradev.exercisesApi.web.ExerciseColumnarMessageConverter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.jayway.jsonpath.JsonPath;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
@@ -26,11 +34,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -57,6 +70,8 @@ public class ExerciseControllerTest {
     @Autowired
     private ExerciseService exerciseService;
     @Autowired
+    private ExerciseExportService exerciseExportService;
+    @Autowired
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
@@ -106,6 +121,109 @@ public class ExerciseControllerTest {
                 .andExpect(jsonPath("$._links", hasKey("images")));
     }
 
+    @Test
+    void testGetExerciseEmbedsImagesWhenAsked() throws Exception {
+        mockMvc.perform(get("https://localhost:8082/api/exercises/{id}?embed=images", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.images", hasSize(1)))
+                .andExpect(jsonPath("$.images[0].url", is("https://someuriwithimages.link")))
+                .andExpect(jsonPath("$.images[0]._links", hasKey("self")));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.images").doesNotExist());
+    }
+
+    @Test
+    void testSearchEmbedsImagesOfTheWholePage() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createImage, "https://otherimage.link", 2));
+        jdbc.execute(String.format(createImage, "https://anotherimage.link", 2));
+        jdbc.execute(String.format(createExercise, "test-exercise-3", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?embed=images"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0].images", hasSize(1)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[1].images", hasSize(2)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[2].images", empty()));
+    }
+
+    @Test
+    void testGetExercisesKeepsRequestedOrderAndReportsMissingIds() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises?ids=2,99,1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].id", contains(2, 1)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0]._links", hasKey("self")))
+                .andExpect(jsonPath("$.missing", contains(99)));
+    }
+
+    @Test
+    void testBatchGetExercisesReadsIdsFromRequestBody() throws Exception {
+        mockMvc.perform(post("https://localhost:8082/api/exercises/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ExerciseIdsModel(List.of(0L, 1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].name", contains("test-exercise-1")))
+                .andExpect(jsonPath("$.missing", contains(0)));
+
+        mockMvc.perform(post("https://localhost:8082/api/exercises/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ExerciseIdsModel(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.exception", is("InvalidRequestBodyException")));
+    }
+
+    @Test
+    void testGetExercisesByTargetGroupsExercisesPerBodyPart() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-3", "test-exercise-description", "CHEST", "EASY", "ISOLATION"));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/by-target?targets=CHEST,ABS&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups", aMapWithSize(2)))
+                .andExpect(jsonPath("$.groups.ABS[*].name", contains("test-exercise-1")))
+                .andExpect(jsonPath("$.groups.ABS[0]._links", hasKey("self")))
+                .andExpect(jsonPath("$.groups.CHEST[*].name", contains("test-exercise-3")));
+    }
+
+    @Test
+    void testSearchReportsTheCountStrategyThatWasUsed() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-3", "test-exercise-description", "CHEST", "EASY", "ISOLATION"));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?target=ABS&size=1&count=ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count-Strategy", "ESTIMATED"))
+                .andExpect(jsonPath("$.page.totalElements", is(2)));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?name=exercise&size=1&count=ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count-Strategy", "ESTIMATED"))
+                .andExpect(jsonPath("$.page.totalElements", is(3)));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count-Strategy", "EXACT"));
+    }
+
+    @Test
+    void testGetFacetsCountsEveryOptionInOneResponse() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "ABS", "HARD", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-3", "test-exercise-description", "CHEST", "EASY", "COMPOUND"));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/facets?target=ABS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.targets.ABS", is(2)))
+                .andExpect(jsonPath("$.targets.CHEST", is(1)))
+                .andExpect(jsonPath("$.targets.BACK", is(0)))
+                .andExpect(jsonPath("$.complexities.EASY", is(1)))
+                .andExpect(jsonPath("$.complexities.HARD", is(1)))
+                .andExpect(jsonPath("$.movements.COMPOUND", is(0)));
+    }
+
     @Test
     void testGetExerciseRespondsWithStatusNotFoundWhenExerciseDoesNotExist() throws Exception {
         Optional<Exercise> byId = exerciseRepository.findById(0L);
@@ -187,6 +305,79 @@ public class ExerciseControllerTest {
                 .andExpect(jsonPath("$._links", hasKey("images")));
     }
 
+    @Test
+    void testImportExercisesReportsCreatedDuplicateAndInvalidRows() throws Exception {
+        List<ExerciseAddModel> rows = List.of(
+                new ExerciseAddModel("bulk-exercise-1", "description", TargetBodyPart.CHEST, Complexity.EASY, MovementType.COMPOUND),
+                new ExerciseAddModel("test-exercise-1", "description", TargetBodyPart.ABS, Complexity.EASY, MovementType.ISOLATION),
+                new ExerciseAddModel("", "description", TargetBodyPart.ABS, null, MovementType.ISOLATION),
+                new ExerciseAddModel("bulk-exercise-1", "description", TargetBodyPart.CHEST, Complexity.EASY, MovementType.COMPOUND),
+                new ExerciseAddModel("bulk-exercise-2", "description", TargetBodyPart.BACK, Complexity.HARD, MovementType.COMPOUND)
+        );
+
+        mockMvc.perform(post("https://localhost:8082/api/exercises/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rows)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.duplicates", is(2)))
+                .andExpect(jsonPath("$.invalid", is(1)))
+                .andExpect(jsonPath("$.rows[*].status", contains("CREATED", "DUPLICATE", "INVALID", "DUPLICATE", "CREATED")))
+                .andExpect(jsonPath("$.rows[0].id", notNullValue()))
+                .andExpect(jsonPath("$.rows[1].id").doesNotExist())
+                .andExpect(jsonPath("$.rows[2].message", is("Invalid fields: complexity, name")));
+
+        assertTrue(exerciseRepository.existsExerciseByNameAndIsDeletedFalse("bulk-exercise-1"));
+        assertTrue(exerciseRepository.existsExerciseByNameAndIsDeletedFalse("bulk-exercise-2"));
+    }
+
+    @Test
+    void testImportExercisesReadsNewlineDelimitedJson() throws Exception {
+        String body = objectMapper.writeValueAsString(new ExerciseAddModel("ndjson-exercise-1", "description", TargetBodyPart.CHEST, Complexity.EASY, MovementType.COMPOUND))
+                + "\n{\"name\":\"ndjson-exercise-2\",\"description\":\"description\",\"bodyPart\":\"NOPE\",\"complexity\":\"EASY\",\"movement\":\"COMPOUND\"}\n";
+
+        mockMvc.perform(post("https://localhost:8082/api/exercises/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.invalid", is(1)))
+                .andExpect(jsonPath("$.rows[1].message", is("Unreadable exercise!")));
+    }
+
+    @Test
+    void testImportExercisesReturnsPartialResultWhenBodyIsMalformed() throws Exception {
+        String body = "[" + objectMapper.writeValueAsString(new ExerciseAddModel("partial-exercise-1", "description", TargetBodyPart.CHEST, Complexity.EASY, MovementType.COMPOUND))
+                + ", {\"name\": \"broken\"";
+
+        mockMvc.perform(post("https://localhost:8082/api/exercises/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.invalid", is(1)))
+                .andExpect(jsonPath("$.rows[*].status", contains("CREATED", "INVALID")))
+                .andExpect(jsonPath("$.rows[1].row", is(1)))
+                .andExpect(jsonPath("$.rows[1].message", is("Malformed import body, no rows were read after this one!")));
+
+        assertTrue(exerciseRepository.existsExerciseByNameAndIsDeletedFalse("partial-exercise-1"));
+    }
+
+    @Test
+    void testImportExercisesTreatsNamesDifferingOnlyInCaseAsDuplicates() throws Exception {
+        List<ExerciseAddModel> rows = List.of(
+                new ExerciseAddModel("TEST-EXERCISE-1", "description", TargetBodyPart.ABS, Complexity.EASY, MovementType.ISOLATION),
+                new ExerciseAddModel("Case-Exercise", "description", TargetBodyPart.CHEST, Complexity.EASY, MovementType.COMPOUND),
+                new ExerciseAddModel("case-exercise", "description", TargetBodyPart.CHEST, Complexity.EASY, MovementType.COMPOUND)
+        );
+
+        mockMvc.perform(post("https://localhost:8082/api/exercises/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rows)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows[*].status", contains("DUPLICATE", "CREATED", "DUPLICATE")));
+    }
+
     @Test
     void testEditExerciseRespondsWithStatusBadRequestWhenModelIsNotValid() throws Exception {
         ExerciseEditModel editModel = new ExerciseEditModel(null, null, null, null, null);
@@ -269,7 +460,10 @@ public class ExerciseControllerTest {
 
         Pageable pageable = PageRequest.of(0, 2, sort);
 
-        Page<Exercise> allByIsDeletedFalse = exerciseRepository.findAllByIsDeletedFalse(pageable);
+        Page<Exercise> allByIsDeletedFalse = exerciseRepository.search(
+                new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL),
+                pageable
+        );
 
         assertEquals(3, allByIsDeletedFalse.getTotalPages());
         assertEquals(5, allByIsDeletedFalse.getTotalElements());
@@ -291,6 +485,320 @@ public class ExerciseControllerTest {
                 .andExpect(jsonPath("$._links", hasKey("last")));
     }
 
+    @Test
+    void testSearchByNameAppliesTheOtherFilters() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "CHEST", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-3", "test-exercise-description", "ABS", "HARD", "ISOLATION"));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search")
+                        .param("name", "EXERCISE")
+                        .param("target", "ABS")
+                        .param("complexity", "EASY"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/hal+json"))
+                .andExpect(jsonPath("$._embedded.exerciseModelList", hasSize(1)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0].name", is("test-exercise-1")))
+                .andExpect(jsonPath("$.page.totalElements", is(1)));
+    }
+
+    @Test
+    void testSearchAppliesEveryFilterCombinationInOneQuery() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "ABS", "HARD", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-3", "test-exercise-description", "ABS", "EASY", "COMPOUND"));
+        jdbc.execute(String.format(createExercise, "test-exercise-4", "test-exercise-description", "CHEST", "EASY", "ISOLATION"));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search")
+                        .param("target", "ABS")
+                        .param("complexity", "EASY")
+                        .param("movement", "ISOLATION"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList", hasSize(1)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0].name", is("test-exercise-1")));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search")
+                        .param("movement", "ISOLATION")
+                        .param("orderBy", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements", is(3)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0].name", is("test-exercise-4")));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search")
+                        .param("name", "exercise_"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements", is(0)));
+    }
+
+    @Test
+    void testSearchAfterWalksAllExercisesThroughNextLinks() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-3", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-4", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-5", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+
+        String firstPage = mockMvc.perform(get("https://localhost:8082/api/exercises/search?after=&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/hal+json"))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].name", contains("test-exercise-1", "test-exercise-2")))
+                .andExpect(jsonPath("$.page").doesNotExist())
+                .andExpect(jsonPath("$._links", hasKey("self")))
+                .andExpect(jsonPath("$._links", hasKey("next")))
+                .andReturn().getResponse().getContentAsString();
+
+        String secondPage = mockMvc.perform(get(JsonPath.<String>read(firstPage, "$._links.next.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].name", contains("test-exercise-3", "test-exercise-4")))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get(JsonPath.<String>read(secondPage, "$._links.next.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].name", contains("test-exercise-5")))
+                .andExpect(jsonPath("$._links", not(hasKey("next"))));
+    }
+
+    @Test
+    void testSearchAfterOrdersNamesCaseInsensitivelyWithIdBreakingTies() throws Exception {
+        jdbc.execute(String.format(createExercise, "beta", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "alpha", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "Alpha", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+
+        String firstPage = mockMvc.perform(get("https://localhost:8082/api/exercises/search?after=&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].id", contains(3, 4)))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get(JsonPath.<String>read(firstPage, "$._links.next.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].id", contains(2, 1)));
+    }
+
+    @Test
+    void testSearchAfterRespondsWithStatusBadRequestWhenSizeIsOutOfRange() throws Exception {
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?after=&size=0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?after=&size=101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchAfterRespondsWithStatusBadRequestWhenCursorIsInvalid() throws Exception {
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search")
+                        .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.exception", is("InvalidCursorException")))
+                .andExpect(jsonPath("$.message", is("Invalid search cursor!")));
+    }
+
+    @Test
+    void testGetChangesPagesByTokenAndReturnsTombstonesForDeletedExercises() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-3", "test-exercise-description", "CHEST", "HARD", "COMPOUND"));
+        jdbc.execute("UPDATE exercises SET updated_at = TIMESTAMP '2024-01-01 10:00:00'");
+        jdbc.execute("UPDATE exercises SET is_deleted = 1, updated_at = TIMESTAMP '2024-01-02 10:00:00' WHERE name = 'test-exercise-3'");
+
+        String first = mockMvc.perform(get("https://localhost:8082/api/exercises/changes?size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[*].id", contains(1, 2)))
+                .andExpect(jsonPath("$.changes[0].name", is("test-exercise-1")))
+                .andExpect(jsonPath("$.changes[0].images[0].url", is("https://someuriwithimages.link")))
+                .andExpect(jsonPath("$.hasMore", is(true)))
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(get("https://localhost:8082/api/exercises/changes?size=2&since=" + JsonPath.read(first, "$.next")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].id", is(3)))
+                .andExpect(jsonPath("$.changes[0].deleted", is(true)))
+                .andExpect(jsonPath("$.changes[0].name").doesNotExist())
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andReturn().getResponse().getContentAsString();
+
+        String next = JsonPath.read(second, "$.next");
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/changes?since=" + next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", empty()))
+                .andExpect(jsonPath("$.next", is(next)));
+    }
+
+    @Test
+    void testGetChangesRespondsWithStatusBadRequestWhenTokenIsInvalid() throws Exception {
+        mockMvc.perform(get("https://localhost:8082/api/exercises/changes?since=not-a-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.exception", is("InvalidCursorException")))
+                .andExpect(jsonPath("$.message", is("Invalid change token!")));
+    }
+
+    @Test
+    void testAddImagesTouchesTheExerciseForTheChangeFeed() throws Exception {
+        jdbc.execute("UPDATE exercises SET updated_at = TIMESTAMP '2024-01-01 10:00:00'");
+
+        mockMvc.perform(post("https://localhost:8082/api/exercises/{id}/images", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ImageUrlsAddModel(List.of("https://newimage.link")))))
+                .andExpect(status().isOk());
+
+        assertTrue(jdbc.queryForObject("SELECT updated_at FROM exercises WHERE id = 1", Timestamp.class)
+                .toLocalDateTime().getYear() > 2024);
+    }
+
+    @Test
+    void testSearchReturnsOnlyRequestedFieldsWithoutLinks() throws Exception {
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?fields=name&links=none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0]", aMapWithSize(2)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0].id", is(1)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0].name", is("test-exercise-1")))
+                .andExpect(jsonPath("$._links").doesNotExist())
+                .andExpect(jsonPath("$.page.totalElements", is(1)));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?fields=name,complexity"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0].complexity", is("EASY")))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0].description").doesNotExist())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0]._links", hasKey("delete")));
+    }
+
+    @Test
+    void testOnlySparseResponsesLeaveOutNullFields() throws Exception {
+        jdbc.execute("UPDATE exercises SET complexity = NULL WHERE id = 1");
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasKey("complexity")))
+                .andExpect(jsonPath("$.complexity").value(nullValue()));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0]", hasKey("complexity")));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?fields=complexity&links=none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0]", aMapWithSize(2)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0]", hasKey("complexity")))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[0].complexity").value(nullValue()));
+    }
+
+    @Test
+    void testSearchRespondsWithStatusBadRequestWhenFieldIsUnknown() throws Exception {
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?fields=name,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.exception", is("InvalidFieldException")))
+                .andExpect(jsonPath("$.message", is("Unknown exercise field: password!")));
+    }
+
+    @Test
+    void testSuggestReturnsNamesAndIdsStartingWithPrefix() throws Exception {
+        jdbc.execute(String.format(createExercise, "Push up", "test-exercise-description", "CHEST", "EASY", "COMPOUND"));
+        jdbc.execute(String.format(createExercise, "pull up", "test-exercise-description", "BACK", "HARD", "COMPOUND"));
+        jdbc.execute(String.format(createExercise, "Push press", "test-exercise-description", "SHOULDERS", "HARD", "COMPOUND"));
+        jdbc.execute("UPDATE exercises SET is_deleted = 1 WHERE name = 'Push press'");
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/suggest?prefix=pu&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("pull up", "Push up")))
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[0]._links").doesNotExist());
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/suggest?prefix=pu&limit=1"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/suggest?prefix=pu&limit=0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchWritesColumnarCborWhenAsked() throws Exception {
+        for (int i = 2; i <= 20; i++) {
+            jdbc.execute(String.format(createExercise, "test-exercise-" + i, "test-exercise-description", "CHEST", "HARD", "COMPOUND"));
+        }
+
+        byte[] body = mockMvc.perform(get("https://localhost:8082/api/exercises/search?size=20")
+                        .accept(ExerciseColumnarMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExerciseColumnarMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode columnar = new ObjectMapper(new CBORFactory()).readTree(body);
+
+        assertEquals(ExerciseColumnarMessageConverter.SCHEMA_VERSION, columnar.get("schema").asInt());
+        assertEquals(20, columnar.get("page").get("totalElements").asInt());
+        assertEquals("test-exercise-1", columnar.get("columns").get("name").get(0).asText());
+        assertEquals(Complexity.HARD.ordinal(), columnar.get("columns").get("complexity").get(1).asInt());
+        assertEquals("HARD", columnar.get("enums").get("complexity").get(Complexity.HARD.ordinal()).asText());
+        assertEquals("https://localhost:8082/api/exercises/{id}", columnar.get("templates").get("self").asText());
+        assertFalse(columnar.has("_links"));
+
+        int hal = mockMvc.perform(get("https://localhost:8082/api/exercises/search?size=20"))
+                .andExpect(content().contentType("application/hal+json"))
+                .andReturn().getResponse().getContentAsByteArray().length;
+
+        assertTrue(body.length < hal / 2, "columnar " + body.length + " bytes, hal " + hal + " bytes");
+    }
+
+    @Test
+    void testGetImagesWritesColumnarCborWhenAsked() throws Exception {
+        byte[] body = mockMvc.perform(get("https://localhost:8082/api/exercises/{id}/images", 1L)
+                        .accept(ExerciseColumnarMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode columnar = new ObjectMapper(new CBORFactory()).readTree(body);
+
+        assertEquals("image", columnar.get("kind").asText());
+        assertEquals("https://someuriwithimages.link", columnar.get("columns").get("url").get(0).asText());
+        assertEquals(1, columnar.get("columns").get("exerciseId").get(0).asInt());
+    }
+
+    @Test
+    void testExportStreamsNdjsonAttachment() throws Exception {
+        mockMvc.perform(get("https://localhost:8082/api/exercises/export"))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"exercises.ndjson\""));
+    }
+
+    @Test
+    void testExportWritesOneRowPerExerciseAndSkipsDeletedUnlessAsked() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "with, comma and \"quotes\"", "CHEST", "HARD", "COMPOUND"));
+        jdbc.execute("UPDATE exercises SET is_deleted = 1 WHERE name = 'test-exercise-1'");
+        // The export reads through its own pool, so the rows have to be committed first.
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        exerciseExportService.export(ExerciseExportFormat.NDJSON, false, ndjson);
+
+        List<String> lines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1, lines.size());
+        assertEquals("test-exercise-2", objectMapper.readTree(lines.getFirst()).get("name").asText());
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exerciseExportService.export(ExerciseExportFormat.CSV, true, csv);
+
+        assertEquals(List.of(
+                "id,name,complexity,description,movementType,targetBodyPart,isDeleted",
+                "1,test-exercise-1,EASY,test-exercise-description,ISOLATION,ABS,true",
+                "2,test-exercise-2,HARD,\"with, comma and \"\"quotes\"\"\",COMPOUND,CHEST,false"
+        ), csv.toString(StandardCharsets.UTF_8).lines().toList());
+    }
+
+    @Test
+    void testExportWritesEmptyCsvFieldForMissingComplexity() throws Exception {
+        jdbc.execute("UPDATE exercises SET complexity = NULL WHERE name = 'test-exercise-1'");
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exerciseExportService.export(ExerciseExportFormat.CSV, false, csv);
+
+        assertEquals(List.of(
+                "id,name,complexity,description,movementType,targetBodyPart,isDeleted",
+                "1,test-exercise-1,,test-exercise-description,ISOLATION,ABS,false"
+        ), csv.toString(StandardCharsets.UTF_8).lines().toList());
+    }
+
     @Test
     void testDeleteExerciseRespondsWithStatusBadRequestWhenExerciseDoesNotExist() throws Exception {
         Optional<Exercise> empty = exerciseRepository.findById(0L);
@@ -428,7 +936,7 @@ public class ExerciseControllerTest {
     }
 
     @Test
-    void testDeleteImageRemovesImageAndReturnsModel() throws Exception {
+    void testDeleteImageSoftDeletesImageAndReturnsModel() throws Exception {
         Optional<Exercise> optionalExercise = exerciseRepository.findById(1L);
 
         assertTrue(optionalExercise.isPresent(), "Exercise should be present");
@@ -449,7 +957,24 @@ public class ExerciseControllerTest {
                 .andExpect(jsonPath("$._links", aMapWithSize(1)))
                 .andExpect(jsonPath("$._links", hasKey("exercise")));
 
-        assertEquals(0, imageUrlRepository.count());
+        assertEquals(1, imageUrlRepository.count());
+        assertTrue(imageUrlRepository.findById(1L).orElseThrow().getIsDeleted());
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/{id}/images", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded").doesNotExist());
+    }
+
+    @Test
+    void testGetImageReturnsSoftDeletedImageFlaggedAsDeleted() throws Exception {
+        jdbc.execute("UPDATE image_urls SET is_deleted = 1 WHERE id = 1");
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/{id}/images/{imageId}", 1L, 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/hal+json"))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.exerciseId", is(1)))
+                .andExpect(jsonPath("$.isDeleted", is(Boolean.TRUE)));
     }
 
 
@@ -0,0 +1,156 @@
+package com.dimitarrradev.exercisesApi.controller;
+
+import com.dimitarrradev.exercisesApi.controller.binding.ExerciseEditModel;
+import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseFields;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "exercises.search.index.enabled=true")
+@AutoConfigureMockMvc
+public class ExerciseIndexedSearchControllerTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+    @Autowired
+    private ExerciseSearchIndex exerciseSearchIndex;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${sql.script.create.exercise}")
+    private String createExercise;
+    @Value("${sql.script.delete.exercise}")
+    private String deleteExercise;
+    @Value("${sql.script.delete.image}")
+    private String deleteImage;
+
+    @BeforeEach
+    void setup() {
+        jdbc.execute(String.format(createExercise, "Push up", "test-exercise-description", "CHEST", "EASY", "COMPOUND"));
+        jdbc.execute(String.format(createExercise, "pull up", "test-exercise-description", "BACK", "HARD", "COMPOUND"));
+        jdbc.execute(String.format(createExercise, "Bench press", "test-exercise-description", "CHEST", "HARD", "COMPOUND"));
+
+        exerciseSearchIndex.load();
+        assertTrue(exerciseSearchIndex.isAvailable());
+    }
+
+    @AfterEach
+    void teardown() {
+        jdbc.execute(deleteImage);
+        jdbc.execute("ALTER TABLE image_urls ALTER COLUMN ID RESTART WITH 1");
+        jdbc.execute(deleteExercise);
+        jdbc.execute("ALTER TABLE exercises ALTER COLUMN ID RESTART WITH 1");
+        exerciseSearchIndex.load();
+    }
+
+    @Test
+    void testSearchIsAnsweredByTheIndexWithExactCounts() throws Exception {
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?target=CHEST&name=pre&count=ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count-Strategy", "EXACT"))
+                .andExpect(jsonPath("$.page.totalElements", is(1)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].name", contains("Bench press")));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?after=&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].name", contains("Bench press", "pull up")))
+                .andExpect(jsonPath("$._links.next.href", notNullValue()));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.targets.CHEST", is(2)));
+    }
+
+    @Test
+    void testIndexAndDatabaseKeepTheSameNameOrder() {
+        for (String name : List.of("eclair", "Éclair", "a-b", "ab", "a b", "Ab", "a.b")) {
+            jdbc.execute(String.format(createExercise, name, "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        }
+        exerciseSearchIndex.load();
+
+        ExerciseSearchFilter filter = new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL);
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            List<Long> fromDatabase = exerciseRepository.searchAfter(filter, null, 20, direction, ExerciseFields.ALL)
+                    .map(Exercise::getId).getContent();
+            List<Long> fromIndex = exerciseSearchIndex.searchAfter(filter, null, 20, direction)
+                    .map(Exercise::getId).getContent();
+
+            assertEquals(10, fromDatabase.size());
+            assertEquals(fromDatabase, fromIndex);
+        }
+    }
+
+    @Test
+    void testImportedExercisesAreAddedToTheIndex() throws Exception {
+        String body = "{\"name\":\"Pull over\",\"description\":\"description\",\"bodyPart\":\"BACK\",\"complexity\":\"EASY\",\"movement\":\"ISOLATION\"}\n"
+                + "{\"name\":\"PUSH UP\",\"description\":\"description\",\"bodyPart\":\"CHEST\",\"complexity\":\"EASY\",\"movement\":\"COMPOUND\"}\n"
+                + "{\"name\":\"Pulldown\",\"description\":\"description\",\"bodyPart\":\"BACK\",\"complexity\":\"EASY\",\"movement\":\"COMPOUND\"}\n";
+
+        mockMvc.perform(post("https://localhost:8082/api/exercises/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows[*].status", contains("CREATED", "DUPLICATE", "CREATED")));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/suggest?prefix=pu&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Pull over", "pull up", "Pulldown", "Push up")));
+    }
+
+    @Test
+    void testSearchAndSuggestFollowEditsAndDeletes() throws Exception {
+        ExerciseEditModel editModel = new ExerciseEditModel(
+                "Push press",
+                "this is a valid description",
+                TargetBodyPart.SHOULDERS,
+                Complexity.HARD,
+                MovementType.COMPOUND
+        );
+
+        mockMvc.perform(patch("https://localhost:8082/api/exercises/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(editModel)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("https://localhost:8082/api/exercises/{id}", 2L))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/suggest?prefix=pu&limit=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Push press")));
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search?target=CHEST"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements", is(1)))
+                .andExpect(jsonPath("$._embedded.exerciseModelList[*].name", contains("Bench press")));
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.dimitarrradev.exercisesApi.exercise.cache;
+
+import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
+import com.dimitarrradev.exercisesApi.exercise.dao.ImageUrlRepository;
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseImagesChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+public class ExerciseCacheTest {
+
+    @MockitoBean
+    private ExerciseRepository exerciseRepository;
+    @MockitoBean
+    private ImageUrlRepository imageUrlRepository;
+    @Autowired
+    private ExerciseCache exerciseCache;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Exercise exercise;
+
+    @BeforeEach
+    void setup() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        exercise = new Exercise(
+                1L,
+                "test-exercise",
+                "test-exercise-description",
+                Complexity.EASY,
+                TargetBodyPart.ABS,
+                MovementType.ISOLATION,
+                new ArrayList<>(),
+                null,
+                null,
+                Boolean.FALSE,
+                null
+        );
+    }
+
+    @Test
+    void testFindExerciseHitsRepositoryOnlyOnce() {
+        when(exerciseRepository.findById(1L))
+                .thenReturn(Optional.of(exercise));
+
+        Optional<Exercise> first = exerciseCache.findExercise(1L);
+        Optional<Exercise> second = exerciseCache.findExercise(1L);
+
+        assertTrue(first.isPresent());
+        assertEquals(exercise.getName(), second.orElseThrow().getName());
+        verify(exerciseRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testFindExerciseDoesNotCacheMissingExercise() {
+        when(exerciseRepository.findById(2L))
+                .thenReturn(Optional.empty());
+
+        assertTrue(exerciseCache.findExercise(2L).isEmpty());
+        assertTrue(exerciseCache.findExercise(2L).isEmpty());
+
+        verify(exerciseRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void testFindExercisesLoadsOnlyCacheMissesInOneQuery() {
+        Exercise other = Exercise.builder().id(3L).name("other-exercise").isDeleted(Boolean.FALSE).build();
+
+        when(exerciseRepository.findById(1L))
+                .thenReturn(Optional.of(exercise));
+        when(exerciseRepository.findAllById(List.of(3L, 4L)))
+                .thenReturn(List.of(other));
+
+        exerciseCache.findExercise(1L);
+
+        Map<Long, Exercise> found = exerciseCache.findExercises(List.of(1L, 3L, 4L));
+
+        assertEquals(Set.of(1L, 3L), found.keySet());
+        assertEquals("other-exercise", exerciseCache.findExercise(3L).orElseThrow().getName());
+        verify(exerciseRepository, times(1)).findAllById(List.of(3L, 4L));
+        verify(exerciseRepository, never()).findById(3L);
+    }
+
+    @Test
+    void testExerciseChangedEventEvictsOnlyThatExercise() {
+        Exercise other = Exercise.builder().id(3L).name("other-exercise").isDeleted(Boolean.FALSE).build();
+
+        when(exerciseRepository.findById(1L))
+                .thenReturn(Optional.of(exercise));
+        when(exerciseRepository.findById(3L))
+                .thenReturn(Optional.of(other));
+
+        exerciseCache.findExercise(1L);
+        exerciseCache.findExercise(3L);
+
+        eventPublisher.publishEvent(new ExerciseChangedEvent(ExerciseChangeType.EDITED, exercise));
+
+        exerciseCache.findExercise(1L);
+        exerciseCache.findExercise(3L);
+
+        verify(exerciseRepository, times(2)).findById(1L);
+        verify(exerciseRepository, times(1)).findById(3L);
+    }
+
+    @Test
+    void testFindExerciseDoesNotKeepValueLoadedAcrossAnEviction() {
+        when(exerciseRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    eventPublisher.publishEvent(new ExerciseChangedEvent(ExerciseChangeType.EDITED, exercise));
+                    return Optional.of(exercise);
+                })
+                .thenReturn(Optional.of(exercise));
+
+        exerciseCache.findExercise(1L);
+        exerciseCache.findExercise(1L);
+        exerciseCache.findExercise(1L);
+
+        verify(exerciseRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void testFillInsideATransactionIsDroppedWhenAnEvictionFollowsItsFirstRead() {
+        ImageUrlView imageUrl = new ImageUrlView(11L, "image-url", 1L, Boolean.FALSE);
+
+        when(exerciseRepository.findById(1L))
+                .thenReturn(Optional.of(exercise));
+        when(imageUrlRepository.findViewsOfExercise(1L))
+                .thenReturn(List.of(imageUrl));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            exerciseCache.findExercise(1L);
+            CompletableFuture.runAsync(() -> eventPublisher.publishEvent(
+                    new ExerciseImagesChangedEvent(ExerciseChangeType.IMAGES_ADDED, 1L, List.of(12L)))).join();
+            exerciseCache.findImages(1L);
+        });
+
+        exerciseCache.findImages(1L);
+        exerciseCache.findImages(1L);
+
+        verify(imageUrlRepository, times(2)).findViewsOfExercise(1L);
+    }
+
+    @Test
+    void testSearchCountsAreMemoizedUntilAnExerciseChanges() {
+        ExerciseSearchFilter filter = new ExerciseSearchFilter("", TargetBodyPart.ABS, Complexity.ALL, MovementType.ALL);
+
+        when(exerciseRepository.countMatching(filter))
+                .thenReturn(5L);
+
+        assertEquals(5L, exerciseCache.countExercises(filter));
+        exerciseCache.countExercises(filter);
+        exerciseCache.findFacetCounts("");
+        exerciseCache.findFacetCounts("");
+
+        verify(exerciseRepository, times(1)).countMatching(filter);
+        verify(exerciseRepository, times(1)).countFacets("");
+
+        eventPublisher.publishEvent(new ExerciseChangedEvent(ExerciseChangeType.ADDED, exercise));
+
+        exerciseCache.countExercises(filter);
+        exerciseCache.findFacetCounts("");
+
+        verify(exerciseRepository, times(2)).countMatching(filter);
+        verify(exerciseRepository, times(2)).countFacets("");
+    }
+
+    @Test
+    void testImagesChangedEventEvictsImagesOfThatExercise() {
+        ImageUrlView imageUrl = new ImageUrlView(11L, "image-url", 1L, Boolean.FALSE);
+
+        when(imageUrlRepository.findViewsOfExercise(1L))
+                .thenReturn(List.of(imageUrl));
+
+        assertEquals(List.of(imageUrl), exerciseCache.findImages(1L).orElseThrow());
+        exerciseCache.findImages(1L);
+
+        verify(imageUrlRepository, times(1)).findViewsOfExercise(1L);
+
+        eventPublisher.publishEvent(new ExerciseImagesChangedEvent(ExerciseChangeType.IMAGES_ADDED, 1L, List.of(12L)));
+
+        exerciseCache.findImages(1L);
+
+        verify(imageUrlRepository, times(2)).findViewsOfExercise(1L);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.dimitarrradev.exercisesApi.exercise.dao;
+
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView;
+import com.dimitarrradev.exercisesApi.exercise.service.ExerciseService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class ImageUrlRepositoryTest {
+
+    @Autowired
+    private ImageUrlRepository imageUrlRepository;
+    @Autowired
+    private ExerciseService exerciseService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Value("${sql.script.create.exercise}")
+    private String createExercise;
+    @Value("${sql.script.create.image}")
+    private String createImage;
+
+    private Statistics statistics;
+    private Long exerciseId;
+
+    @BeforeEach
+    void setup() {
+        jdbc.execute(String.format(createExercise, "image-exercise", "description", "ABS", "EASY", "ISOLATION"));
+        exerciseId = jdbc.queryForObject("SELECT id FROM exercises WHERE name = 'image-exercise'", Long.class);
+        for (int i = 0; i < 3; i++) {
+            jdbc.execute(String.format(createImage, "https://images.example/" + i, exerciseId));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void teardown() {
+        statistics.clear();
+    }
+
+    @Test
+    void testImageViewsAreReadWithOneSelectAndNoEntities() {
+        List<ImageUrlView> views = imageUrlRepository.findViewsOfExercise(exerciseId);
+
+        assertEquals(3, views.size());
+        assertEquals(List.of(exerciseId, exerciseId, exerciseId), views.stream().map(ImageUrlView::exerciseId).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    @Test
+    void testGetImagesChecksTheExerciseAndReadsItsImagesInOneSelect() {
+        CollectionModel<ImageUrlModel> images = exerciseService.getImages(exerciseId);
+
+        assertEquals(3, images.getContent().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    @Test
+    void testExerciseWithoutImagesIsToldApartFromAMissingOne() {
+        jdbc.execute(String.format(createExercise, "bare-exercise", "description", "ABS", "EASY", "ISOLATION"));
+        Long bareId = jdbc.queryForObject("SELECT id FROM exercises WHERE name = 'bare-exercise'", Long.class);
+
+        assertEquals(List.of(new ImageUrlView(null, null, bareId, null)), imageUrlRepository.findViewsOfExercise(bareId));
+        assertTrue(exerciseService.getImages(bareId).getContent().isEmpty());
+        assertEquals(List.of(), imageUrlRepository.findViewsOfExercise(bareId + 1));
+    }
+
+}
@@ -0,0 +1,315 @@
+package com.dimitarrradev.exercisesApi.exercise.search;
+
+import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
+import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
+import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseFacets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExerciseSearchIndexTest {
+
+    private ExerciseRepository exerciseRepository;
+    private ExerciseSearchIndex searchIndex;
+
+    @BeforeEach
+    void setup() {
+        exerciseRepository = mock(ExerciseRepository.class);
+        searchIndex = new ExerciseSearchIndex(exerciseRepository, true);
+
+        when(exerciseRepository.findAllByIsDeletedFalse())
+                .thenReturn(generateExerciseList(10));
+
+        searchIndex.load();
+    }
+
+    @Test
+    void testIndexIsNotAvailableWhenDisabled() {
+        ExerciseSearchIndex disabled = new ExerciseSearchIndex(exerciseRepository, false);
+
+        disabled.load();
+
+        assertFalse(disabled.isAvailable());
+        assertTrue(searchIndex.isAvailable());
+    }
+
+    @Test
+    void testSearchWithoutFiltersReturnsNameSortedPageAndTotal() {
+        Page<Exercise> page = searchIndex.search(
+                new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL),
+                PageRequest.of(1, 3, Sort.by("name").ascending())
+        );
+
+        assertEquals(10, page.getTotalElements());
+        assertEquals(4, page.getTotalPages());
+        assertEquals(List.of("test-exercise-3", "test-exercise-4", "test-exercise-5"),
+                page.getContent().stream().map(Exercise::getName).toList());
+    }
+
+    @Test
+    void testSearchWithAllFiltersIntersectsBitsetsAndSortsDescending() {
+        Page<Exercise> page = searchIndex.search(
+                new ExerciseSearchFilter("", TargetBodyPart.ABS, Complexity.HARD, MovementType.ISOLATION),
+                PageRequest.of(0, 10, Sort.by("name").descending())
+        );
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of("test-exercise-9", "test-exercise-7", "test-exercise-5", "test-exercise-3", "test-exercise-1"),
+                page.getContent().stream().map(Exercise::getName).toList());
+    }
+
+    @Test
+    void testSearchWithUnmatchedFilterReturnsEmptyPage() {
+        Page<Exercise> page = searchIndex.search(
+                new ExerciseSearchFilter("", TargetBodyPart.CHEST, Complexity.ALL, MovementType.ALL),
+                PageRequest.of(0, 10, Sort.by("name").ascending())
+        );
+
+        assertEquals(0, page.getTotalElements());
+        assertTrue(page.getContent().isEmpty());
+    }
+
+    @Test
+    void testSearchByNameUsesTrigramsAndKeepsFacetFilters() {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("name").ascending());
+
+        Page<Exercise> byName = searchIndex.search(
+                new ExerciseSearchFilter("EXERCISE-1", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL), pageable);
+
+        assertEquals(List.of("test-exercise-1"), byName.map(Exercise::getName).getContent());
+
+        Page<Exercise> byNameAndTarget = searchIndex.search(
+                new ExerciseSearchFilter("exercise", TargetBodyPart.ABS, Complexity.ALL, MovementType.ALL), pageable);
+
+        assertEquals(5, byNameAndTarget.getTotalElements());
+        assertTrue(byNameAndTarget.stream().allMatch(exercise -> exercise.getTargetBodyPart().equals(TargetBodyPart.ABS)));
+    }
+
+    @Test
+    void testSearchByNameShorterThanTrigramScansCandidates() {
+        Page<Exercise> page = searchIndex.search(
+                new ExerciseSearchFilter("-9", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL),
+                PageRequest.of(0, 10, Sort.by("name").ascending())
+        );
+
+        assertEquals(List.of("test-exercise-9"), page.map(Exercise::getName).getContent());
+    }
+
+    @Test
+    void testSearchByUnknownNameReturnsEmptyPage() {
+        Page<Exercise> page = searchIndex.search(
+                new ExerciseSearchFilter("squat", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL),
+                PageRequest.of(0, 10, Sort.by("name").ascending())
+        );
+
+        assertEquals(0, page.getTotalElements());
+    }
+
+    @Test
+    void testSearchAfterSeeksPastTheCursorInBothDirections() {
+        ExerciseSearchFilter abs = new ExerciseSearchFilter("", TargetBodyPart.ABS, Complexity.ALL, MovementType.ALL);
+
+        Slice<Exercise> first = searchIndex.searchAfter(abs, null, 2, Sort.Direction.ASC);
+
+        assertEquals(List.of("test-exercise-1", "test-exercise-3"), first.map(Exercise::getName).getContent());
+        assertTrue(first.hasNext());
+
+        Slice<Exercise> second = searchIndex.searchAfter(abs, ExerciseCursor.of(first.getContent().getLast()), 2, Sort.Direction.ASC);
+
+        assertEquals(List.of("test-exercise-5", "test-exercise-7"), second.map(Exercise::getName).getContent());
+
+        Slice<Exercise> last = searchIndex.searchAfter(abs, ExerciseCursor.of(second.getContent().getLast()), 2, Sort.Direction.ASC);
+
+        assertEquals(List.of("test-exercise-9"), last.map(Exercise::getName).getContent());
+        assertFalse(last.hasNext());
+
+        Slice<Exercise> descending = searchIndex.searchAfter(abs, ExerciseCursor.decode(ExerciseCursor.of(last.getContent().getLast()).encode()), 10, Sort.Direction.DESC);
+
+        assertEquals(List.of("test-exercise-7", "test-exercise-5", "test-exercise-3", "test-exercise-1"),
+                descending.map(Exercise::getName).getContent());
+    }
+
+    @Test
+    void testSearchAfterStartsAtTheInsertionPointOfARemovedCursor() {
+        ExerciseCursor removed = new ExerciseCursor("test-exercise-45", 0L);
+
+        Slice<Exercise> slice = searchIndex.searchAfter(
+                new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL), removed, 2, Sort.Direction.ASC);
+
+        assertEquals(List.of("test-exercise-5", "test-exercise-6"), slice.map(Exercise::getName).getContent());
+    }
+
+    @Test
+    void testSearchAfterOrdersNamesCaseInsensitivelyWithIdBreakingTies() {
+        List<Exercise> exercises = List.of(
+                exercise(1L, "test-exercise-1"),
+                exercise(2L, "beta"),
+                exercise(3L, "alpha"),
+                exercise(4L, "Alpha")
+        );
+        when(exerciseRepository.findAllByIsDeletedFalse())
+                .thenReturn(exercises);
+        searchIndex.load();
+
+        ExerciseSearchFilter all = new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL);
+        Slice<Exercise> first = searchIndex.searchAfter(all, null, 2, Sort.Direction.ASC);
+        Slice<Exercise> second = searchIndex.searchAfter(all, ExerciseCursor.of(first.getContent().getLast()), 2, Sort.Direction.ASC);
+
+        assertEquals(List.of(3L, 4L), first.map(Exercise::getId).getContent());
+        assertEquals(List.of(2L, 1L), second.map(Exercise::getId).getContent());
+    }
+
+    @Test
+    void testFacetsCountEachDimensionWithoutItsOwnFilter() {
+        ExerciseFacets facets = searchIndex.facets(
+                new ExerciseSearchFilter("", TargetBodyPart.ABS, Complexity.EASY, MovementType.ALL));
+
+        assertEquals(0, facets.total());
+        assertEquals(5L, facets.targets().get(TargetBodyPart.ABDUCTORS));
+        assertEquals(0L, facets.targets().get(TargetBodyPart.ABS));
+        assertEquals(5L, facets.complexities().get(Complexity.HARD));
+        assertEquals(0L, facets.movements().get(MovementType.ISOLATION));
+        assertFalse(facets.targets().containsKey(TargetBodyPart.ALL));
+
+        ExerciseFacets byName = searchIndex.facets(
+                new ExerciseSearchFilter("exercise-1", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL));
+
+        assertEquals(1, byName.total());
+        assertEquals(1L, byName.targets().get(TargetBodyPart.ABS));
+    }
+
+    @Test
+    void testGroupByTargetReturnsNameSortedGroupsCutAtTheLimit() {
+        Map<TargetBodyPart, List<Exercise>> groups = searchIndex.groupByTarget(List.of(TargetBodyPart.ABS, TargetBodyPart.CHEST), 3);
+
+        assertEquals(List.of("test-exercise-1", "test-exercise-3", "test-exercise-5"),
+                groups.get(TargetBodyPart.ABS).stream().map(Exercise::getName).toList());
+        assertTrue(groups.get(TargetBodyPart.CHEST).isEmpty());
+        assertEquals(5, searchIndex.groupByTarget(List.of(TargetBodyPart.ABDUCTORS), 0).get(TargetBodyPart.ABDUCTORS).size());
+    }
+
+    @Test
+    void testSuggestReturnsNameSortedPrefixMatchesFollowingEdits() {
+        assertEquals(List.of("test-exercise-0", "test-exercise-1"),
+                searchIndex.suggest("TEST-EXERCISE-", 2).stream().map(Exercise::getName).toList());
+        assertEquals(List.of(10L), searchIndex.suggest("test-exercise-9", 5).stream().map(Exercise::getId).toList());
+        assertTrue(searchIndex.suggest("exercise", 5).isEmpty());
+
+        Exercise added = new Exercise(100L, "Test-exercise-10", "description", Complexity.EASY,
+                TargetBodyPart.CHEST, MovementType.COMPOUND, null, null, null, false, null);
+        searchIndex.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.ADDED, added));
+
+        assertEquals(List.of("test-exercise-1", "Test-exercise-10"),
+                searchIndex.suggest("test-exercise-1", 5).stream().map(Exercise::getName).toList());
+
+        searchIndex.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.DELETED, added));
+
+        assertEquals(1, searchIndex.suggest("test-exercise-1", 5).size());
+    }
+
+    @Test
+    void testIndexFollowsAddEditAndDeleteEvents() {
+        Exercise added = new Exercise(100L, "a-new-exercise", "description", Complexity.EASY,
+                TargetBodyPart.CHEST, MovementType.COMPOUND, null, null, null, false, null);
+
+        searchIndex.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.ADDED, added));
+
+        ExerciseSearchFilter chest = new ExerciseSearchFilter("", TargetBodyPart.CHEST, Complexity.ALL, MovementType.ALL);
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("name").ascending());
+
+        assertEquals(List.of(100L), searchIndex.search(chest, pageable).map(Exercise::getId).getContent());
+
+        added.setTargetBodyPart(TargetBodyPart.BACK);
+        searchIndex.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, added));
+
+        assertEquals(0, searchIndex.search(chest, pageable).getTotalElements());
+
+        searchIndex.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.DELETED, added));
+
+        assertEquals(10, searchIndex.search(
+                new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL), pageable
+        ).getTotalElements());
+    }
+
+    @Test
+    void testReloadKeepsChangesThatArriveWhileTheTableIsRead() {
+        Exercise added = exercise(100L, "a-new-exercise");
+        Exercise deleted = generateExerciseList(1).getFirst();
+
+        when(exerciseRepository.findAllByIsDeletedFalse()).thenAnswer(invocation -> {
+            List<Exercise> readBeforeTheChanges = generateExerciseList(10);
+            searchIndex.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.ADDED, added));
+            searchIndex.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.DELETED, deleted));
+            return readBeforeTheChanges;
+        });
+
+        searchIndex.load();
+
+        List<Long> ids = searchIndex.search(
+                new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL),
+                PageRequest.of(0, 20, Sort.by("name").ascending())
+        ).map(Exercise::getId).getContent();
+
+        assertEquals(10, ids.size());
+        assertTrue(ids.contains(100L));
+        assertFalse(ids.contains(deleted.getId()));
+    }
+
+    @Test
+    void testLateEventDoesNotReplaceANewerVersion() {
+        Exercise newer = exercise(100L, "newer-name");
+        newer.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0, 1));
+        Exercise older = exercise(100L, "older-name");
+        older.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0, 0));
+
+        searchIndex.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, newer));
+        searchIndex.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, older));
+
+        assertEquals(List.of("newer-name"), searchIndex.suggest("newer", 5).stream().map(Exercise::getName).toList());
+        assertTrue(searchIndex.suggest("older", 5).isEmpty());
+    }
+
+    private static Exercise exercise(Long id, String name) {
+        return new Exercise(id, name, "description", Complexity.EASY, TargetBodyPart.ABS, MovementType.COMPOUND,
+                new ArrayList<>(), null, null, Boolean.FALSE, null);
+    }
+
+    private List<Exercise> generateExerciseList(int count) {
+        List<Exercise> exercises = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            exercises.add(new Exercise(
+                    i + 1L,
+                    "test-exercise-" + i,
+                    "test-exercise-description-" + i,
+                    i % 2 == 0 ? Complexity.EASY : Complexity.HARD,
+                    i % 2 == 0 ? TargetBodyPart.ABDUCTORS : TargetBodyPart.ABS,
+                    i % 2 == 0 ? MovementType.COMPOUND : MovementType.ISOLATION,
+                    new ArrayList<>(),
+                    null,
+                    null,
+                    Boolean.FALSE,
+                    null
+            ));
+        }
+
+        return exercises;
+    }
+
+}
@@ -9,12 +9,18 @@ import com.dimitarrradev.exercisesApi.error.exception.ImageNotFoundException;
 import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
 import com.dimitarrradev.exercisesApi.exercise.dao.ImageUrlRepository;
 import com.dimitarrradev.exercisesApi.exercise.enums.Complexity;
+import com.dimitarrradev.exercisesApi.exercise.enums.ExerciseCountStrategy;
 import com.dimitarrradev.exercisesApi.exercise.enums.MovementType;
 import com.dimitarrradev.exercisesApi.exercise.enums.TargetBodyPart;
 import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseFacetCount;
+import com.dimitarrradev.exercisesApi.exercise.model.ExerciseGroupsModel;
 import com.dimitarrradev.exercisesApi.exercise.model.ExerciseModel;
 import com.dimitarrradev.exercisesApi.exercise.model.ImageUrl;
 import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlModel;
+import com.dimitarrradev.exercisesApi.exercise.model.ImageUrlView;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseFields;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseSearchFilter;
 import com.dimitarrradev.exercisesApi.exercise.util.ExerciseFromModelMapper;
 import com.dimitarrradev.exercisesApi.exercise.util.ImageUrlFromModelMapper;
 import com.dimitarrradev.exercisesApi.exercise.util.ImageUrlModelAssembler;
@@ -25,6 +31,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.*;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
@@ -68,7 +75,8 @@ public class ExerciseServiceUnitTests {
                 new ArrayList<>(List.of(imageUrl)),
                 null,
                 null,
-                false
+                false,
+                null
         );
         imageUrl.setExercise(exercise);
     }
@@ -151,7 +159,7 @@ public class ExerciseServiceUnitTests {
         assertTrue(exercise.getIsDeleted());
         assertEquals(expected, exerciseModel);
         verify(exerciseRepository, Mockito.times(1))
-                .saveAndFlush(exercise);
+                .save(exercise);
     }
 
     @Test
@@ -213,13 +221,13 @@ public class ExerciseServiceUnitTests {
                 MovementType.ISOLATION
         );
 
-        when(exerciseRepository.saveAndFlush(exercise))
+        when(exerciseRepository.save(exercise))
                 .thenReturn(exercise);
 
         exerciseService.editExercise(exercise.getId(), editModel);
 
         verify(exerciseRepository, Mockito.times(1))
-                .saveAndFlush(exercise);
+                .save(exercise);
     }
 
     @Test
@@ -251,16 +259,33 @@ public class ExerciseServiceUnitTests {
                 .filter(ex -> ex.getTargetBodyPart().equals(randomTargetBodyPart))
                 .toList();
 
-        when(exerciseRepository.findAllByTargetBodyPartIsInAndIsDeletedFalse(List.of(randomTargetBodyPart)))
+        when(exerciseRepository.findAllByTargetBodyPartIsInAndIsDeletedFalse(List.of(randomTargetBodyPart), Sort.by("name", "id")))
                 .thenReturn(exercises);
 
-        CollectionModel<ExerciseModel> expectedExercises = CollectionModel.of(mapToExerciseModelList(exercises));
+        ExerciseGroupsModel expectedExercises = new ExerciseGroupsModel(Map.of(randomTargetBodyPart, mapToExerciseModelList(exercises)));
 
-        CollectionModel<ExerciseModel> exercisesViewByTargets = exerciseService.getExercisesForTargetBodyParts(List.of(randomTargetBodyPart));
+        ExerciseGroupsModel exercisesViewByTargets = exerciseService.getExercisesForTargetBodyParts(List.of(randomTargetBodyPart), 0);
 
         assertEquals(expectedExercises, exercisesViewByTargets);
     }
 
+    @Test
+    void testGetExercisesByTargetsLimitsEachGroupAndKeepsEmptyGroups() {
+        List<Exercise> exercises = generateExerciseList(20)
+                .stream()
+                .filter(ex -> ex.getTargetBodyPart().equals(exercise.getTargetBodyPart()))
+                .toList();
+
+        when(exerciseRepository.findAllByTargetBodyPartIsInAndIsDeletedFalse(List.of(TargetBodyPart.CHEST, TargetBodyPart.ABDUCTORS), Sort.by("name", "id")))
+                .thenReturn(exercises);
+
+        ExerciseGroupsModel groups = exerciseService.getExercisesForTargetBodyParts(List.of(TargetBodyPart.CHEST, TargetBodyPart.ABDUCTORS), 2);
+
+        assertEquals(Set.of(TargetBodyPart.ABDUCTORS, TargetBodyPart.CHEST), groups.getGroups().keySet());
+        assertEquals(mapToExerciseModelList(exercises.subList(0, 2)), groups.getGroups().get(TargetBodyPart.ABDUCTORS));
+        assertTrue(groups.getGroups().get(TargetBodyPart.CHEST).isEmpty());
+    }
+
     @Test
     void testGetExerciseReturnsCorrectExerciseWhenFoundInRepository() {
         when(exerciseRepository.findById(1L))
@@ -310,8 +335,12 @@ public class ExerciseServiceUnitTests {
 
         Page<Exercise> exercisePage = new PageImpl<>(exerciseList, pageable, exerciseList.size());
 
-        when(exerciseRepository.findAllByNameContainingIgnoreCaseAndIsDeletedFalse(pageable, "1"))
-                .thenReturn(exercisePage);
+        when(exerciseRepository.search(
+                eq(new ExerciseSearchFilter("1", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL)),
+                eq(pageable),
+                any(),
+                eq(ExerciseFields.ALL)
+        )).thenReturn(exercisePage);
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
                 exercisePage.getSize(),
@@ -343,9 +372,11 @@ public class ExerciseServiceUnitTests {
 
         Page<Exercise> exercisePage = new PageImpl<>(exerciseList, pageable, exerciseList.size());
 
-        when(exerciseRepository.findAllByTargetBodyPartAndIsDeletedFalse(
-                pageable,
-                TargetBodyPart.ABS
+        when(exerciseRepository.search(
+                eq(new ExerciseSearchFilter("", TargetBodyPart.ABS, Complexity.ALL, MovementType.ALL)),
+                eq(pageable),
+                any(),
+                eq(ExerciseFields.ALL)
         )).thenReturn(exercisePage);
 
 
@@ -381,10 +412,11 @@ public class ExerciseServiceUnitTests {
 
         Page<Exercise> exercisePage = new PageImpl<>(exerciseList, pageable, exerciseList.size());
 
-        when(exerciseRepository.findAllByTargetBodyPartAndComplexityAndIsDeletedFalse(
-                pageable,
-                TargetBodyPart.ABS,
-                Complexity.HARD
+        when(exerciseRepository.search(
+                eq(new ExerciseSearchFilter("", TargetBodyPart.ABS, Complexity.HARD, MovementType.ALL)),
+                eq(pageable),
+                any(),
+                eq(ExerciseFields.ALL)
         )).thenReturn(exercisePage);
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
@@ -418,10 +450,11 @@ public class ExerciseServiceUnitTests {
 
         Page<Exercise> exercisePage = new PageImpl<>(exerciseList, pageable, exerciseList.size());
 
-        when(exerciseRepository.findAllByTargetBodyPartAndMovementTypeAndIsDeletedFalse(
-                pageable,
-                TargetBodyPart.ABS,
-                MovementType.ISOLATION
+        when(exerciseRepository.search(
+                eq(new ExerciseSearchFilter("", TargetBodyPart.ABS, Complexity.ALL, MovementType.ISOLATION)),
+                eq(pageable),
+                any(),
+                eq(ExerciseFields.ALL)
         )).thenReturn(exercisePage);
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
@@ -458,11 +491,11 @@ public class ExerciseServiceUnitTests {
 
         Page<Exercise> exercisePage = new PageImpl<>(exerciseList, pageable, exerciseList.size());
 
-        when(exerciseRepository.findAllByTargetBodyPartAndComplexityAndMovementTypeAndIsDeletedFalse(
-                pageable,
-                TargetBodyPart.ABS,
-                Complexity.HARD,
-                MovementType.ISOLATION
+        when(exerciseRepository.search(
+                eq(new ExerciseSearchFilter("", TargetBodyPart.ABS, Complexity.HARD, MovementType.ISOLATION)),
+                eq(pageable),
+                any(),
+                eq(ExerciseFields.ALL)
         )).thenReturn(exercisePage);
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
@@ -498,10 +531,11 @@ public class ExerciseServiceUnitTests {
 
         Page<Exercise> exercisePage = new PageImpl<>(exerciseList, pageable, exerciseList.size());
 
-        when(exerciseRepository.findAllByComplexityAndMovementTypeAndIsDeletedFalse(
-                pageable,
-                Complexity.HARD,
-                MovementType.ISOLATION
+        when(exerciseRepository.search(
+                eq(new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.HARD, MovementType.ISOLATION)),
+                eq(pageable),
+                any(),
+                eq(ExerciseFields.ALL)
         )).thenReturn(exercisePage);
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
@@ -534,9 +568,11 @@ public class ExerciseServiceUnitTests {
 
         Page<Exercise> exercisePage = new PageImpl<>(exerciseList, pageable, exerciseList.size());
 
-        when(exerciseRepository.findAllByComplexityAndIsDeletedFalse(
-                pageable,
-                Complexity.HARD
+        when(exerciseRepository.search(
+                eq(new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.HARD, MovementType.ALL)),
+                eq(pageable),
+                any(),
+                eq(ExerciseFields.ALL)
         )).thenReturn(exercisePage);
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
@@ -569,9 +605,11 @@ public class ExerciseServiceUnitTests {
 
         PageImpl<Exercise> exercisePage = new PageImpl<>(exerciseList, pageable, exerciseList.size());
 
-        when(exerciseRepository.findAllByMovementTypeAndIsDeletedFalse(
-                pageable,
-                MovementType.ISOLATION
+        when(exerciseRepository.search(
+                eq(new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ISOLATION)),
+                eq(pageable),
+                any(),
+                eq(ExerciseFields.ALL)
         )).thenReturn(exercisePage);
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
@@ -602,8 +640,11 @@ public class ExerciseServiceUnitTests {
 
         PageImpl<Exercise> exercisePage = new PageImpl<>(exerciseList, pageable, exerciseList.size());
 
-        when(exerciseRepository.findAllByIsDeletedFalse(
-                pageable
+        when(exerciseRepository.search(
+                eq(new ExerciseSearchFilter("", TargetBodyPart.ALL, Complexity.ALL, MovementType.ALL)),
+                eq(pageable),
+                any(),
+                eq(ExerciseFields.ALL)
         )).thenReturn(exercisePage);
 
         PagedModel.PageMetadata pageMetadata = new PagedModel.PageMetadata(
@@ -622,10 +663,41 @@ public class ExerciseServiceUnitTests {
 
     }
 
+    @Test
+    void testSearchExercisesWithEstimatedCountSumsMatchingFacetCounts() {
+        List<Exercise> exerciseList = generateExerciseList(4).stream()
+                .filter(exercise -> exercise.getTargetBodyPart().equals(TargetBodyPart.ABS))
+                .toList();
+
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("name").ascending());
+        ExerciseSearchFilter filter = new ExerciseSearchFilter("", TargetBodyPart.ABS, Complexity.ALL, MovementType.ALL);
+
+        when(exerciseRepository.search(eq(filter), eq(pageable), any(), eq(ExerciseFields.ALL)))
+                .thenAnswer(invocation -> PageableExecutionUtils.getPage(exerciseList, pageable, invocation.getArgument(2)));
+        when(exerciseRepository.countFacets(""))
+                .thenReturn(List.of(
+                        new ExerciseFacetCount(TargetBodyPart.ABS, Complexity.HARD, MovementType.ISOLATION, 30),
+                        new ExerciseFacetCount(TargetBodyPart.ABS, Complexity.EASY, MovementType.COMPOUND, 12),
+                        new ExerciseFacetCount(TargetBodyPart.CHEST, Complexity.EASY, MovementType.COMPOUND, 7)
+                ));
+
+        PagedModel<ExerciseModel> actual = exerciseService.searchExercises("", TargetBodyPart.ABS, Complexity.ALL, MovementType.ALL, 0, 2, "asc", ExerciseCountStrategy.ESTIMATED);
+
+        assertEquals(42, actual.getMetadata().getTotalElements());
+        verify(exerciseRepository, never()).countMatching(any());
+    }
+
+    @Test
+    void testCountStrategyKeepsTheRequestedStrategyWithoutTheIndex() {
+        assertEquals(ExerciseCountStrategy.ESTIMATED, exerciseService.countStrategyFor("squat", ExerciseCountStrategy.ESTIMATED));
+        assertEquals(ExerciseCountStrategy.ESTIMATED, exerciseService.countStrategyFor("", ExerciseCountStrategy.ESTIMATED));
+        assertEquals(ExerciseCountStrategy.EXACT, exerciseService.countStrategyFor("squat", ExerciseCountStrategy.EXACT));
+    }
+
     @Test
     void testGetImagesThrowsWhenExerciseIsNotFound() {
-        when(exerciseRepository.existsById(anyLong()))
-                .thenReturn(false);
+        when(imageUrlRepository.findViewsOfExercise(anyLong()))
+                .thenReturn(List.of());
 
         assertThrows(ExerciseNotFoundException.class,
                 () -> exerciseService.getImages(0L)
@@ -634,11 +706,13 @@ public class ExerciseServiceUnitTests {
 
     @Test
     void testGetImagesThrowsWhenExerciseExists() {
-        when(exerciseRepository.existsById(exercise.getId()))
-                .thenReturn(true);
+        List<ImageUrlView> views = exercise.getImageURLs()
+                .stream()
+                .map(url -> ImageUrlView.of(url, exercise.getId()))
+                .toList();
 
-        when(imageUrlRepository.findByExercise_Id(exercise.getId()))
-                .thenReturn(exercise.getImageURLs());
+        when(imageUrlRepository.findViewsOfExercise(exercise.getId()))
+                .thenReturn(views);
 
         List<ImageUrlModel> urlModelStream = exercise
                 .getImageURLs()
@@ -653,7 +727,7 @@ public class ExerciseServiceUnitTests {
                 ).toList();
 
 
-        when(imageUrlModelAssembler.toCollectionModel(exercise.getImageURLs()))
+        when(imageUrlModelAssembler.toCollectionModel(views))
                 .thenReturn(CollectionModel.of(urlModelStream));
 
         assertEquals(CollectionModel.of(urlModelStream),
@@ -703,7 +777,7 @@ public class ExerciseServiceUnitTests {
         );
 
 
-        when(imageUrlModelAssembler.toCollectionModel(savedImageUrls))
+        when(imageUrlModelAssembler.toCollectionModel(List.of(ImageUrlView.of(savedImage, exercise.getId()))))
                 .thenReturn(expectedModel);
 
         CollectionModel<ImageUrlModel> result = exerciseService.addImages(exercise.getId(), addModel);
@@ -714,7 +788,7 @@ public class ExerciseServiceUnitTests {
 
     @Test
     void testGetImageThrowsWhenImageIsNotFound() {
-        when(imageUrlRepository.findByIdAndExercise_id(anyLong(), anyLong()))
+        when(imageUrlRepository.findViewByIdAndExerciseId(anyLong(), anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(ImageNotFoundException.class,
@@ -725,15 +799,17 @@ public class ExerciseServiceUnitTests {
     void testGetImageReturnsCorrectModel() {
         ImageUrl imageUrl = exercise.getImageURLs().getFirst();
 
-        when(imageUrlRepository.findByIdAndExercise_id(exercise.getId(), imageUrl.getId()))
-                .thenReturn(Optional.of(imageUrl));
+        ImageUrlView view = ImageUrlView.of(imageUrl, exercise.getId());
+
+        when(imageUrlRepository.findViewByIdAndExerciseId(imageUrl.getId(), exercise.getId()))
+                .thenReturn(Optional.of(view));
 
         ImageUrlModel expected = new ImageUrlModel(imageUrl.getId(), imageUrl.getUrl(), exercise.getId(), Boolean.FALSE);
 
-        when(imageUrlModelAssembler.toModel(imageUrl))
+        when(imageUrlModelAssembler.toModel(view))
                 .thenReturn(expected);
 
-        ImageUrlModel imageUrlModel = exerciseService.getImage(imageUrl.getId(), exercise.getId());
+        ImageUrlModel imageUrlModel = exerciseService.getImage(exercise.getId(), imageUrl.getId());
 
         assertEquals(expected, imageUrlModel);
     }
@@ -755,12 +831,13 @@ public class ExerciseServiceUnitTests {
                 .thenReturn(Optional.of(imageUrl));
 
         ImageUrlModel expected = new ImageUrlModel(imageUrl.getId(), imageUrl.getUrl(), exercise.getId(), Boolean.TRUE);
-        when(imageUrlModelAssembler.toModel(imageUrl))
+        when(imageUrlModelAssembler.toModel(new ImageUrlView(imageUrl.getId(), imageUrl.getUrl(), exercise.getId(), Boolean.TRUE)))
                 .thenReturn(expected);
 
         ImageUrlModel deletedImage = exerciseService.deleteImage(exercise.getId(), imageUrl.getId());
 
-        verify(imageUrlRepository, times(1)).delete(imageUrl);
+        verify(imageUrlRepository, times(1)).save(imageUrl);
+        verify(imageUrlRepository, never()).delete(imageUrl);
         assertTrue(imageUrl.getIsDeleted());
         assertEquals(expected, deletedImage);
     }
@@ -784,7 +861,8 @@ public class ExerciseServiceUnitTests {
                     Collections.emptyList(),
                     null,
                     null,
-                    Boolean.FALSE
+                    Boolean.FALSE,
+                    null
             );
 
             exercises.add(e);
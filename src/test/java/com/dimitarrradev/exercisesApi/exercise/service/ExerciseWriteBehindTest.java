@@ -0,0 +1,228 @@
+package com.dimitarrradev.exercisesApi.exercise.service;
+
+import com.dimitarrradev.exercisesApi.exercise.dao.ExerciseRepository;
+import com.dimitarrradev.exercisesApi.exercise.dao.ImageUrlRepository;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "exercises.write-behind.enabled=true",
+        "exercises.write-behind.flush-interval=1h"
+})
+@RecordApplicationEvents
+public class ExerciseWriteBehindTest {
+
+    @TempDir
+    static Path logDirectory;
+
+    @DynamicPropertySource
+    static void logDirectory(DynamicPropertyRegistry registry) {
+        registry.add("exercises.write-behind.log-dir", () -> logDirectory.toString());
+    }
+
+    @Autowired
+    private ExerciseWriteBehind exerciseWriteBehind;
+    @Autowired
+    private ExerciseService exerciseService;
+    @MockitoSpyBean
+    private ExerciseRepository exerciseRepository;
+    @Autowired
+    private ImageUrlRepository imageUrlRepository;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Value("${sql.script.create.exercise}")
+    private String createExercise;
+    @Value("${sql.script.delete.exercise}")
+    private String deleteExercise;
+    @Value("${sql.script.create.image}")
+    private String createImage;
+    @Value("${sql.script.delete.image}")
+    private String deleteImage;
+
+    @BeforeEach
+    void setup() {
+        jdbc.execute(String.format(createExercise, "test-exercise-1", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createExercise, "test-exercise-2", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+        jdbc.execute(String.format(createImage, "https://someuriwithimages.link", 1));
+    }
+
+    @AfterEach
+    void teardown() {
+        jdbc.execute(deleteImage);
+        jdbc.execute("ALTER TABLE image_urls ALTER COLUMN ID RESTART WITH 1");
+        jdbc.execute(deleteExercise);
+        jdbc.execute("ALTER TABLE exercises ALTER COLUMN ID RESTART WITH 1");
+    }
+
+    @Test
+    void testDeletesAreLoggedThenAppliedInOneFlush() throws Exception {
+        assertTrue(exerciseService.deleteExercise(1L).getIsDeleted());
+        assertTrue(exerciseService.deleteImage(1L, 1L).getIsDeleted());
+        exerciseService.deleteExercise(2L);
+
+        assertFalse(exerciseRepository.findById(1L).orElseThrow().getIsDeleted());
+        assertEquals(3, logLines());
+
+        exerciseWriteBehind.flush();
+
+        assertTrue(exerciseRepository.findById(1L).orElseThrow().getIsDeleted());
+        assertTrue(exerciseRepository.findById(2L).orElseThrow().getIsDeleted());
+        assertTrue(imageUrlRepository.findById(1L).orElseThrow().getIsDeleted());
+        assertEquals(0, logLines());
+    }
+
+    @Test
+    void testLoggedDeletesAreRecoveredFromAnotherLog() throws Exception {
+        Path directory = Files.createTempDirectory(logDirectory, "recovery");
+        SoftDeleteLog first = new SoftDeleteLog(directory, objectMapper);
+        first.open();
+        first.append(new SoftDelete(SoftDelete.Target.EXERCISE, 2L, 2L));
+        first.append(new SoftDelete(SoftDelete.Target.IMAGE, 1L, 1L));
+        first.close();
+        Files.writeString(Files.list(directory).findFirst().orElseThrow(), "{\"target\":\"EXE", StandardOpenOption.APPEND);
+
+        SoftDeleteLog second = new SoftDeleteLog(directory, objectMapper);
+
+        assertEquals(List.of(
+                new SoftDelete(SoftDelete.Target.EXERCISE, 2L, 2L),
+                new SoftDelete(SoftDelete.Target.IMAGE, 1L, 1L)
+        ), second.open());
+
+        second.delete(second.seal());
+        second.close();
+
+        SoftDeleteLog third = new SoftDeleteLog(directory, objectMapper);
+
+        assertEquals(List.of(), third.open());
+        third.close();
+    }
+
+    @Test
+    void testFailedBatchKeepsCommittedProgressAndDeadLettersRepeatOffenders() throws Exception {
+        jdbc.execute(String.format(createExercise, "test-exercise-3", "test-exercise-description", "ABS", "EASY", "ISOLATION"));
+
+        Path directory = Files.createTempDirectory(logDirectory, "retry");
+        SoftDeleteLog softDeleteLog = new SoftDeleteLog(directory, objectMapper);
+        softDeleteLog.open();
+        softDeleteLog.append(new SoftDelete(SoftDelete.Target.EXERCISE, 1L, 1L));
+        softDeleteLog.append(new SoftDelete(SoftDelete.Target.EXERCISE, 3L, 3L));
+        softDeleteLog.append(new SoftDelete(SoftDelete.Target.EXERCISE, 2L, 2L));
+        softDeleteLog.append(new SoftDelete(SoftDelete.Target.IMAGE, 1L, 1L));
+        softDeleteLog.close();
+
+        doThrow(new DataIntegrityViolationException("poisoned"))
+                .when(exerciseRepository).softDeleteAllById(argThat(ids -> ids.contains(2L)), any());
+
+        ExerciseWriteBehind writeBehind = new ExerciseWriteBehind(exerciseRepository, imageUrlRepository, eventPublisher,
+                transactionManager, objectMapper, true, 2, Duration.ofHours(1), 2, directory, Clock.systemDefaultZone());
+        writeBehind.start();
+        writeBehind.stop();
+
+        assertTrue(exerciseRepository.findById(1L).orElseThrow().getIsDeleted());
+        assertTrue(exerciseRepository.findById(3L).orElseThrow().getIsDeleted());
+        assertTrue(imageUrlRepository.findById(1L).orElseThrow().getIsDeleted());
+        assertFalse(exerciseRepository.findById(2L).orElseThrow().getIsDeleted());
+
+        verify(exerciseRepository, times(1)).softDeleteAllById(argThat(ids -> ids.contains(1L)), any());
+        assertEquals(1, applicationEvents.stream(ExerciseChangedEvent.class)
+                .filter(event -> event.exercise().getId().equals(1L))
+                .count());
+
+        assertEquals(0, lines(directory));
+        assertEquals(List.of(objectMapper.writeValueAsString(new SoftDelete(SoftDelete.Target.EXERCISE, 2L, 2L))),
+                Files.readAllLines(directory.resolve("dead-letter").resolve("soft-deletes-dead-letter.log")));
+    }
+
+    @Test
+    void testFlushKeepsDeletesQueuedWhenTheLogCannotBeSealed() throws Exception {
+        Path directory = Files.createTempDirectory(logDirectory, "seal");
+        ExerciseWriteBehind writeBehind = new ExerciseWriteBehind(exerciseRepository, imageUrlRepository, eventPublisher,
+                transactionManager, objectMapper, true, 500, Duration.ofHours(1), 2, directory, Clock.systemDefaultZone());
+        writeBehind.start();
+
+        assertTrue(writeBehind.deleteExercise(1L));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+
+        writeBehind.flush();
+        assertFalse(exerciseRepository.findById(1L).orElseThrow().getIsDeleted());
+
+        Files.createDirectories(directory);
+        writeBehind.flush();
+        assertTrue(exerciseRepository.findById(1L).orElseThrow().getIsDeleted());
+
+        writeBehind.stop();
+    }
+
+    @Test
+    void testDeletesAreRefusedOnceStopped() throws Exception {
+        Path directory = Files.createTempDirectory(logDirectory, "stopped");
+        ExerciseWriteBehind writeBehind = new ExerciseWriteBehind(exerciseRepository, imageUrlRepository, eventPublisher,
+                transactionManager, objectMapper, true, 1, Duration.ofHours(1), 2, directory, Clock.systemDefaultZone());
+        writeBehind.start();
+        writeBehind.stop();
+
+        assertFalse(writeBehind.deleteExercise(1L));
+        assertFalse(writeBehind.deleteImage(1L, 1L));
+        assertEquals(0, lines(directory));
+    }
+
+    private long logLines() throws Exception {
+        return lines(logDirectory);
+    }
+
+    private static long lines(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            long lines = 0;
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                lines += Files.readAllLines(file).size();
+            }
+
+            return lines;
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.dimitarrradev.exercisesApi.exercise.stream;
+
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseImagesChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import com.dimitarrradev.exercisesApi.exercise.search.ExerciseChangeToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+        "exercises.stream.replay-size=5",
+        "exercises.stream.buffer-size=3"
+})
+@AutoConfigureMockMvc
+public class ExerciseEventStreamTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+    private static final Pattern SINCE = Pattern.compile("\"since\":\"([^\"]+)\"");
+
+    @Autowired
+    private ExerciseEventStream eventStream;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testStreamPushesMutationsAsNamedEvents() throws Exception {
+        MvcResult result = subscribe(null);
+
+        eventStream.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, exercise(7L)));
+        eventStream.onExerciseImagesChanged(new ExerciseImagesChangedEvent(ExerciseChangeType.IMAGES_ADDED, 7L, List.of(3L, 4L)));
+
+        String body = awaitContent(result, "\"imageIds\":[3,4]");
+
+        assertTrue(body.contains("event:EDITED"));
+        assertTrue(body.contains("{\"type\":\"EDITED\",\"exerciseId\":7}"));
+        assertEquals(2, ids(body).size());
+    }
+
+    @Test
+    void testStreamReplaysEventsAfterLastEventId() throws Exception {
+        MvcResult first = subscribe(null);
+
+        eventStream.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.ADDED, exercise(21L)));
+        eventStream.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, exercise(22L)));
+        eventStream.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.DELETED, exercise(23L)));
+
+        List<String> ids = ids(awaitContent(first, "\"exerciseId\":23"));
+
+        String resumed = awaitContent(subscribe(ids.get(ids.size() - 3)), "\"exerciseId\":23");
+
+        assertFalse(resumed.contains("\"exerciseId\":21"));
+        assertTrue(resumed.contains("\"exerciseId\":22"));
+        assertEquals(ids.subList(ids.size() - 2, ids.size()), ids(resumed));
+        assertFalse(resumed.contains("event:resync"));
+    }
+
+    @Test
+    void testStreamAsksForResyncWhenEventIdIsUnknown() throws Exception {
+        String body = awaitContent(subscribe("0-1"), "event:resync");
+
+        assertTrue(body.contains("\"reason\":\"unknown-event-id\""));
+        assertTrue(body.contains("\"changes\":\"/api/exercises/changes\""));
+        assertFalse(body.contains("\"since\""));
+    }
+
+    @Test
+    void testResumeLongerThanTheBufferIsReplayedInFull() throws Exception {
+        MvcResult first = subscribe(null);
+
+        eventStream.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, exercise(31L)));
+
+        String lastEventId = ids(awaitContent(first, "\"exerciseId\":31")).getLast();
+
+        for (long id = 32; id <= 35; id++) {
+            eventStream.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, exercise(id)));
+        }
+
+        String body = awaitContent(subscribe(lastEventId), "\"exerciseId\":35");
+
+        assertEquals(4, ids(body).size());
+        assertFalse(body.contains("event:resync"));
+    }
+
+    @Test
+    void testStreamDropsBacklogAndAsksForResyncFromBeforeItWhenBufferOverflows() throws Exception {
+        MvcResult result = subscribe(null);
+        LocalDateTime before = LocalDateTime.now();
+
+        for (int round = 0; round < 100 && !result.getResponse().getContentAsString().contains("event:resync"); round++) {
+            for (long id = 0; id < 100; id++) {
+                eventStream.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, exercise(1000 + id)));
+            }
+        }
+
+        String body = awaitContent(result, "\"reason\":\"overflow\"");
+        Matcher since = SINCE.matcher(body);
+
+        assertTrue(since.find(), body);
+        LocalDateTime from = ExerciseChangeToken.decode(since.group(1)).updatedAt();
+        assertFalse(from.isBefore(before.minusSeconds(2)));
+        assertFalse(from.isAfter(LocalDateTime.now().minusSeconds(2)));
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        return mockMvc.perform(lastEventId == null
+                        ? get("/api/exercises/stream")
+                        : get("/api/exercises/stream").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    // An event is written field by field, so wait for the blank line that ends it before looking at the rest.
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!(body.contains(expected) && body.endsWith("\n\n")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected) && body.endsWith("\n\n"), body);
+
+        return body;
+    }
+
+    private static List<String> ids(String body) {
+        Matcher matcher = EVENT_ID.matcher(body);
+
+        return matcher.results().map(match -> match.group(1)).toList();
+    }
+
+    private static Exercise exercise(Long id) {
+        return Exercise.builder().id(id).build();
+    }
+
+}
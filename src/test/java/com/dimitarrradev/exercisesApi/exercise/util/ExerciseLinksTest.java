@@ -0,0 +1,50 @@
+package com.dimitarrradev.exercisesApi.exercise.util;
+
+import com.dimitarrradev.exercisesApi.controller.ExerciseController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+public class ExerciseLinksTest {
+
+    private final ExerciseLinks exerciseLinks = new ExerciseLinks();
+
+    @BeforeEach
+    void setup() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/exercises/search");
+        request.setServerName("exercises.example");
+        request.setServerPort(8443);
+        request.setScheme("https");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testLinksMatchTheControllerMappings() {
+        assertEquals(linkTo(methodOn(ExerciseController.class).getExercise(7L, null)).toUri().toString(), exerciseLinks.exercise(7L).getHref());
+        assertEquals(linkTo(methodOn(ExerciseController.class).editExercise(7L, null, null)).toUri().toString(), exerciseLinks.editExercise(7L).getHref());
+        assertEquals(linkTo(methodOn(ExerciseController.class).deleteExercise(7L)).toUri().toString(), exerciseLinks.deleteExercise(7L).getHref());
+        assertEquals(linkTo(methodOn(ExerciseController.class).getImages(7L)).toUri().toString(), exerciseLinks.images(7L).getHref());
+        assertEquals(linkTo(methodOn(ExerciseController.class).getImage(7L, 12L)).toUri().toString(), exerciseLinks.image(7L, 12L).getHref());
+        assertEquals(linkTo(methodOn(ExerciseController.class).deleteImage(7L, 12L)).toUri().toString(), exerciseLinks.deleteImage(7L, 12L).getHref());
+    }
+
+    @Test
+    void testLinksAreRelativeOutsideARequest() {
+        RequestContextHolder.resetRequestAttributes();
+
+        assertEquals("/api/exercises/3/images/4", exerciseLinks.image(3L, 4L).getHref());
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.dimitarrradev.exercisesApi.web;
+
+import com.dimitarrradev.exercisesApi.exercise.cache.ExerciseVersions;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangeType;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.event.ExerciseImagesChangedEvent;
+import com.dimitarrradev.exercisesApi.exercise.model.Exercise;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExerciseResponseCacheFilterTest {
+
+    private ExerciseVersions exerciseVersions;
+    private ExerciseResponseCacheFilter filter;
+    private AtomicInteger renders;
+    private int renderStatus;
+    private Runnable duringRender;
+
+    @BeforeEach
+    void setup() {
+        exerciseVersions = new ExerciseVersions();
+        filter = new ExerciseResponseCacheFilter(exerciseVersions, true, 1024 * 1024);
+        renders = new AtomicInteger();
+        renderStatus = 200;
+        duringRender = () -> { };
+    }
+
+    @Test
+    void testSecondRequestIsServedFromStoredBytes() throws Exception {
+        MockHttpServletResponse first = perform(get("/api/exercises/1"));
+        MockHttpServletResponse second = perform(get("/api/exercises/1"));
+
+        assertEquals(1, renders.get());
+        assertEquals(200, second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals("application/hal+json", second.getContentType());
+        assertEquals(List.of("EXACT", "CACHED"), second.getHeaders("X-Total-Count-Strategy"));
+        assertNull(second.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void testMatchingIfNoneMatchReturnsNotModifiedWithoutRendering() throws Exception {
+        String eTag = perform(get("/api/exercises/search")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest conditional = get("/api/exercises/search");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        MockHttpServletResponse response = perform(conditional);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void testIfNoneMatchListWithWeakTagReturnsNotModified() throws Exception {
+        String eTag = perform(get("/api/exercises/1")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest conditional = get("/api/exercises/1");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "\"stale\", W/" + eTag);
+        MockHttpServletResponse response = perform(conditional);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(eTag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void testWildcardIfNoneMatchOnlyMatchesAnExistingResource() throws Exception {
+        renderStatus = 404;
+        MockHttpServletRequest missing = get("/api/exercises/1");
+        missing.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        assertEquals(404, perform(missing).getStatus());
+
+        renderStatus = 200;
+        MockHttpServletRequest rendered = get("/api/exercises/1");
+        rendered.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        assertEquals(304, perform(rendered).getStatus());
+
+        MockHttpServletRequest stored = get("/api/exercises/1");
+        stored.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        MockHttpServletResponse response = perform(stored);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void testResponseRenderedAcrossAWriteIsNotStoredOrTagged() throws Exception {
+        duringRender = () -> exerciseVersions.onExerciseChanged(
+                new ExerciseChangedEvent(ExerciseChangeType.EDITED, Exercise.builder().id(1L).build()));
+        MockHttpServletResponse racing = perform(get("/api/exercises/1"));
+
+        duringRender = () -> { };
+        MockHttpServletResponse next = perform(get("/api/exercises/1"));
+        perform(get("/api/exercises/1"));
+
+        assertEquals(200, racing.getStatus());
+        assertNull(racing.getHeader(HttpHeaders.ETAG));
+        assertNotNull(next.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void testExerciseChangeInvalidatesThatExerciseAndTheCatalogueOnly() throws Exception {
+        String exerciseTag = perform(get("/api/exercises/1")).getHeader(HttpHeaders.ETAG);
+        String otherTag = perform(get("/api/exercises/2")).getHeader(HttpHeaders.ETAG);
+        String searchTag = perform(get("/api/exercises/search")).getHeader(HttpHeaders.ETAG);
+
+        exerciseVersions.onExerciseChanged(new ExerciseChangedEvent(ExerciseChangeType.EDITED, Exercise.builder().id(1L).build()));
+
+        assertNotEquals(exerciseTag, perform(get("/api/exercises/1")).getHeader(HttpHeaders.ETAG));
+        assertEquals(otherTag, perform(get("/api/exercises/2")).getHeader(HttpHeaders.ETAG));
+        assertNotEquals(searchTag, perform(get("/api/exercises/search")).getHeader(HttpHeaders.ETAG));
+        assertEquals(5, renders.get());
+    }
+
+    @Test
+    void testImageChangeInvalidatesImagesOfThatExercise() throws Exception {
+        String eTag = perform(get("/api/exercises/1/images")).getHeader(HttpHeaders.ETAG);
+
+        exerciseVersions.onExerciseImagesChanged(new ExerciseImagesChangedEvent(ExerciseChangeType.IMAGES_ADDED, 1L, List.of(3L)));
+
+        MockHttpServletRequest conditional = get("/api/exercises/1/images");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        MockHttpServletResponse response = perform(conditional);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void testQueryAndAcceptAreSeparateEntries() throws Exception {
+        perform(get("/api/exercises/search?page=0"));
+        perform(get("/api/exercises/search?page=1"));
+
+        MockHttpServletRequest json = get("/api/exercises/search?page=1");
+        json.addHeader(HttpHeaders.ACCEPT, "application/json");
+        perform(json);
+
+        assertEquals(3, renders.get());
+    }
+
+    @Test
+    void testErrorsAndUnmatchedPathsAreNotStored() throws Exception {
+        renderStatus = 404;
+        perform(get("/api/exercises/1"));
+        perform(get("/api/exercises/1"));
+
+        renderStatus = 200;
+        MockHttpServletResponse response = perform(get("/api/exercises/add"));
+        perform(get("/api/exercises/add"));
+
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(4, renders.get());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setStatus(renderStatus);
+                resp.setContentType("application/hal+json");
+                resp.setHeader("X-Total-Count-Strategy", "EXACT");
+                resp.addHeader("X-Total-Count-Strategy", "CACHED");
+                resp.addHeader(HttpHeaders.SET_COOKIE, "session=" + renders.get());
+                resp.getWriter().write("{\"render\":" + renders.incrementAndGet() + "}");
+                duringRender.run();
+            }
+        }));
+
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        String[] parts = uri.split("\\?", 2);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", parts[0]);
+        if (parts.length > 1) {
+            request.setQueryString(parts[1]);
+        }
+
+        return request;
+    }
+
+}
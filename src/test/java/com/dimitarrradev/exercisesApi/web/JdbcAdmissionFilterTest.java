@@ -0,0 +1,124 @@
+package com.dimitarrradev.exercisesApi.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JdbcAdmissionFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private JdbcAdmissionFilter filter;
+    private CountDownLatch entered;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JdbcAdmissionFilter(true, 1, Duration.ofMillis(50), new ObjectMapper(), meterRegistry);
+        entered = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @Test
+    void testRequestIsRejectedWhenNoPermitFreesUpInTime() throws Exception {
+        Thread holder = Thread.ofVirtual().start(() -> perform("/api/exercises/1", true));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = perform("/api/exercises/2", false);
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("ServiceUnavailableException"));
+        assertEquals(1.0, meterRegistry.get("exercises.admission.rejected").counter().count());
+        assertEquals(0.0, meterRegistry.get("exercises.admission.available").gauge().value());
+
+        release.countDown();
+        holder.join();
+
+        assertEquals(200, perform("/api/exercises/2", false).getStatus());
+        assertEquals(3, meterRegistry.get("exercises.admission.wait").timer().count());
+        assertEquals(1.0, meterRegistry.get("exercises.admission.available").gauge().value());
+    }
+
+    @Test
+    void testAsyncRequestHoldsItsPermitUntilItCompletes() throws Exception {
+        MockHttpServletRequest async = new MockHttpServletRequest("GET", "/api/exercises/search");
+        async.setAsyncSupported(true);
+        filter.doFilter(async, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        }));
+
+        assertEquals(503, perform("/api/exercises/2", false).getStatus());
+
+        async.getAsyncContext().complete();
+
+        assertEquals(200, perform("/api/exercises/2", false).getStatus());
+        assertEquals(1.0, meterRegistry.get("exercises.admission.available").gauge().value());
+    }
+
+    @Test
+    void testEventStreamAndExportAreNotGated() throws Exception {
+        Thread holder = Thread.ofVirtual().start(() -> perform("/api/exercises/1", true));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertEquals(200, perform("/api/exercises/stream", false).getStatus());
+        assertEquals(200, perform("/api/exercises/export", false).getStatus());
+
+        release.countDown();
+        holder.join();
+    }
+
+    @Test
+    void testRequestsOutsideTheApiAreNotGated() throws Exception {
+        Thread holder = Thread.ofVirtual().start(() -> perform("/api/exercises/1", true));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertEquals(200, perform("/actuator/health", false).getStatus());
+
+        release.countDown();
+        holder.join();
+    }
+
+    private MockHttpServletResponse perform(String uri, boolean block) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain(new HttpServlet() {
+                @Override
+                protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                    if (block) {
+                        entered.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            }));
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        return response;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.dimitarrradev.exercisesApi.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SqlMetricsInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testStatementsAndJdbcTimeAreRecordedPerHandler() throws Exception {
+        long searches = statementCount("searchExercises");
+        double searchStatements = statementTotal("searchExercises");
+        double singleStatements = statementTotal("getExercise");
+        long searchTimings = timingCount("searchExercises");
+
+        mockMvc.perform(get("https://localhost:8082/api/exercises/search"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("https://localhost:8082/api/exercises/{id}", 0L))
+                .andExpect(status().isNotFound());
+
+        assertEquals(1, statementCount("searchExercises") - searches);
+        assertTrue(statementTotal("searchExercises") - searchStatements >= 1);
+        assertEquals(1.0, statementTotal("getExercise") - singleStatements);
+        assertEquals(1, timingCount("searchExercises") - searchTimings);
+    }
+
+    // The registry lives in a context shared with other test classes, so only deltas are asserted.
+    private long statementCount(String handler) {
+        DistributionSummary summary = meterRegistry.find("exercises.sql.statements").tag("handler", handler).summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    private double statementTotal(String handler) {
+        DistributionSummary summary = meterRegistry.find("exercises.sql.statements").tag("handler", handler).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private long timingCount(String handler) {
+        Timer timer = meterRegistry.find("exercises.sql.time").tag("handler", handler).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+}